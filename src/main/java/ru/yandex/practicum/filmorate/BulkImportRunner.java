@@ -0,0 +1,75 @@
+package ru.yandex.practicum.filmorate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
+import ru.yandex.practicum.filmorate.service.FilmImportService;
+import ru.yandex.practicum.filmorate.service.UserImportService;
+
+/**
+ * Imports files given on the command line at startup.
+ *
+ * <p>Supported options are {@code --import.users}, {@code --import.friendships} and
+ * {@code --import.films}, each naming an NDJSON or JSON array file. Users are imported
+ * before friendships. With {@code --import.exit} the application stops after the
+ * import, with a non-zero exit code if any row was rejected.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class BulkImportRunner implements ApplicationRunner {
+
+    static final String USERS_OPTION = "import.users";
+    static final String FRIENDSHIPS_OPTION = "import.friendships";
+    static final String FILMS_OPTION = "import.films";
+    static final String EXIT_OPTION = "import.exit";
+
+    private final UserImportService userImportService;
+    private final FilmImportService filmImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long rejected = 0;
+        for (String file : files(args, USERS_OPTION)) {
+            try (InputStream input = Files.newInputStream(Path.of(file))) {
+                rejected += report(file, userImportService.importUsers(input));
+            }
+        }
+        for (String file : files(args, FRIENDSHIPS_OPTION)) {
+            try (InputStream input = Files.newInputStream(Path.of(file))) {
+                rejected += report(file, userImportService.importFriendships(input));
+            }
+        }
+        for (String file : files(args, FILMS_OPTION)) {
+            try (InputStream input = Files.newInputStream(Path.of(file))) {
+                rejected += report(file, filmImportService.importFilms(input));
+            }
+        }
+
+        if (args.containsOption(EXIT_OPTION)) {
+            int exitCode = rejected == 0 ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+
+    private static List<String> files(ApplicationArguments args, String option) {
+        List<String> files = args.getOptionValues(option);
+        return files == null ? List.of() : files;
+    }
+
+    private static long report(String file, BulkImportResult result) {
+        log.info("Imported {}: {}", file, result);
+        return result.getRejected();
+    }
+}
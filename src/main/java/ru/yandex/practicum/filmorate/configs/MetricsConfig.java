@@ -0,0 +1,61 @@
+package ru.yandex.practicum.filmorate.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.yandex.practicum.filmorate.storage.impl.BackfillProgressDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.EventDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.FilmDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.GenreDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.ReviewDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.ReviewUsefulBackfill;
+import ru.yandex.practicum.filmorate.storage.impl.UserDbStorage;
+import ru.yandex.practicum.filmorate.storage.index.FilmPopularityIndex;
+import ru.yandex.practicum.filmorate.storage.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.storage.index.LikeMatrix;
+import ru.yandex.practicum.filmorate.storage.jdbc.ObservedDataSource;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryListener;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryMetrics;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryNames;
+
+/**
+ * Reports statements executed by the repositories to Micrometer.
+ *
+ * <p>The data source is wrapped instead of every repository call, and statements
+ * are named after the SQL constants they come from.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static QueryNames queryNames() {
+        return new QueryNames(FilmDbStorage.class, UserDbStorage.class, ReviewDbStorage.class,
+            EventDbStorage.class, GenreDbStorage.class, BackfillProgressDbStorage.class,
+            ReviewUsefulBackfill.class, FilmPopularityIndex.class, FilmSearchIndex.class,
+            LikeMatrix.class);
+    }
+
+    @Bean
+    public QueryMetrics queryMetrics(MeterRegistry registry) {
+        return new QueryMetrics(registry);
+    }
+
+    @Bean
+    public static BeanPostProcessor observedDataSourcePostProcessor(
+            ObjectProvider<QueryNames> names, ObjectProvider<QueryListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ObservedDataSource) {
+                    return bean;
+                }
+                return new ObservedDataSource((DataSource) bean, names.getObject(),
+                    () -> listeners.orderedStream().collect(Collectors.toList()));
+            }
+        };
+    }
+}
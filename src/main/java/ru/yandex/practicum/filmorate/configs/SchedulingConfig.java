@@ -0,0 +1,12 @@
+package ru.yandex.practicum.filmorate.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,10 +1,16 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
+import java.util.List;
 import javax.validation.Valid;
+import javax.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,7 +22,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.LikePair;
+import ru.yandex.practicum.filmorate.service.FilmImportService;
 import ru.yandex.practicum.filmorate.service.FilmService;
 import ru.yandex.practicum.filmorate.service.LikeService;
 import ru.yandex.practicum.filmorate.validation.ValidationMarker;
@@ -31,8 +41,12 @@ import ru.yandex.practicum.filmorate.validation.ValidationMarker;
 @AllArgsConstructor
 public class FilmController {
 
+    private static final int MAX_LIKES_IN_BATCH = 1000;
+
     private final FilmService filmService;
     private final LikeService likeService;
+    private final FilmImportService filmImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Adds a new film.
@@ -56,9 +70,31 @@ public class FilmController {
         return updatedFilm;
     }
 
+    /**
+     * Imports films from NDJSON or a JSON array, reporting rejected rows.
+     */
+    @PostMapping(path = "/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, NdJsonResponses.MEDIA_TYPE})
+    public BulkImportResult importFilms(InputStream body) throws IOException {
+        BulkImportResult result = filmImportService.importFilms(body);
+        log.info("Import films: {} imported, {} rejected", result.getImported(),
+            result.getRejected());
+        return result;
+    }
+
     @GetMapping
-    public Collection<Film> getAllFilms() {
-        return filmService.getAllFilms();
+    public Collection<Film> getAllFilms(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return filmService.getAllFilms(after, limit);
+    }
+
+    /**
+     * Streams all films as newline delimited JSON.
+     */
+    @GetMapping(produces = NdJsonResponses.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllFilms() {
+        return NdJsonResponses.stream(objectMapper, filmService::streamAllFilms);
     }
 
     @GetMapping("/{id}")
@@ -66,6 +102,12 @@ public class FilmController {
         return filmService.getFilm(filmId);
     }
 
+    @GetMapping("/{id}/similar")
+    public Collection<Film> getSimilarFilms(@PathVariable("id") long filmId,
+            @RequestParam(value = "count", defaultValue = "10") int limit) {
+        return filmService.getSimilarFilms(filmId, limit);
+    }
+
     /**
      * Makes user likes a film.
      */
@@ -87,6 +129,28 @@ public class FilmController {
         return ResponseEntity.status(HttpStatus.OK).body(null);
     }
 
+    /**
+     * Makes users like films, at most {@value #MAX_LIKES_IN_BATCH} pairs at once.
+     */
+    @PutMapping("/likes:batch")
+    public ResponseEntity<?> addLikes(
+            @RequestBody @Size(max = MAX_LIKES_IN_BATCH) List<@Valid LikePair> pairs) {
+        log.info("Add {} likes", pairs.size());
+        likeService.doLikes(pairs);
+        return ResponseEntity.status(HttpStatus.OK).body(null);
+    }
+
+    /**
+     * Makes users unlike films, at most {@value #MAX_LIKES_IN_BATCH} pairs at once.
+     */
+    @DeleteMapping("/likes:batch")
+    public ResponseEntity<?> removeLikes(
+            @RequestBody @Size(max = MAX_LIKES_IN_BATCH) List<@Valid LikePair> pairs) {
+        log.info("Remove {} likes", pairs.size());
+        likeService.doUnlikes(pairs);
+        return ResponseEntity.status(HttpStatus.OK).body(null);
+    }
+
     @GetMapping("/popular")
     public Collection<Film> getMostPopularFilms(
             @RequestParam(value = "count", defaultValue = "10") int limit,
@@ -96,15 +160,19 @@ public class FilmController {
     }
 
     @GetMapping("/user/{id}/recommendations")
-    public Collection<Film> getRecommendationsForUser(@PathVariable("id") Long userId) {
-        return filmService.getRecommendations(userId);
+    public Collection<Film> getRecommendationsForUser(@PathVariable("id") Long userId,
+            @RequestParam(value = "count", defaultValue = "10") int limit) {
+        return filmService.getRecommendations(userId, limit);
     }
 
 
     @GetMapping("/search")
     public Collection<Film> getFilmsBySearch(
-            @RequestParam String query, @RequestParam String by) {
-        return filmService.getFilmsBySearch(query, by);
+            @RequestParam String query,
+            @RequestParam(value = "by", defaultValue = "title") String by,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "count", defaultValue = "100") int limit) {
+        return filmService.getFilmsBySearch(query, by, after, limit);
     }
 
     @DeleteMapping("/{id}")
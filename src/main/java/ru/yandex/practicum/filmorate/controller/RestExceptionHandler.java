@@ -19,6 +19,8 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import ru.yandex.practicum.filmorate.controller.apierror.ApiError;
 import ru.yandex.practicum.filmorate.service.exception.FilmNotFoundException;
 import ru.yandex.practicum.filmorate.service.exception.GenreNotFoundException;
+import ru.yandex.practicum.filmorate.service.exception.InvalidCursorException;
+import ru.yandex.practicum.filmorate.service.exception.InvalidSearchCriteriaException;
 import ru.yandex.practicum.filmorate.service.exception.MpaRatingNotFoundException;
 import ru.yandex.practicum.filmorate.service.exception.ReviewNotFoundException;
 import ru.yandex.practicum.filmorate.service.exception.UserNotFoundException;
@@ -100,6 +102,17 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    /**
+     * Handle errors when request parameters are not acceptable.
+     */
+    @ExceptionHandler({InvalidSearchCriteriaException.class, InvalidCursorException.class})
+    protected ResponseEntity<Object> handleInvalidRequest(RuntimeException ex) {
+        ApiError apiError = new ApiError(BAD_REQUEST);
+        apiError.setMessage("Invalid request");
+        apiError.setDebugMessage(ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
     private ResponseEntity<Object> buildResponseEntity(ApiError apiError) {
         return new ResponseEntity<>(apiError, apiError.getStatus());
     }
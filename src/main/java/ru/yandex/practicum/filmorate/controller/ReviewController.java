@@ -65,8 +65,9 @@ public class ReviewController {
     @GetMapping
     public Collection<Review> getAllReviewsByFilmId(
             @RequestParam(value = "film") long filmId,
+            @RequestParam(value = "after", required = false) Long after,
             @RequestParam(value = "count", required = false, defaultValue = "10") int count) {
-        return reviewService.getAllReviewsByFilmId(filmId, count);
+        return reviewService.getAllReviewsByFilmId(filmId, after, count);
     }
 
     /**
@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.jdbc.SlowQuery;
+import ru.yandex.practicum.filmorate.storage.jdbc.SlowQueryLog;
+
+/**
+ * Management endpoint for the slow query log.
+ *
+ * <p>Served as {@code /actuator/slowqueries} only when listed in
+ * {@code management.endpoints.web.exposure.include}, and on the management port
+ * if one is configured.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@Slf4j
+@AllArgsConstructor
+public class SlowQueriesEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Returns the last slow statements, newest first.
+     */
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueryLog.getQueries();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        log.info("Clearing slow query log");
+        slowQueryLog.clear();
+    }
+}
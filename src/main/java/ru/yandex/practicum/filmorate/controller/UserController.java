@@ -1,10 +1,14 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import javax.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,9 +18,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
 import ru.yandex.practicum.filmorate.model.Event;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.UserImportService;
 import ru.yandex.practicum.filmorate.service.UserService;
 import ru.yandex.practicum.filmorate.validation.ValidationMarker;
 
@@ -31,6 +39,8 @@ import ru.yandex.practicum.filmorate.validation.ValidationMarker;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Adds a new user.
@@ -55,8 +65,42 @@ public class UserController {
     }
 
     @GetMapping
-    public Collection<User> getAllUsers() {
-        return userService.getAllUsers();
+    public Collection<User> getAllUsers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return userService.getAllUsers(after, limit);
+    }
+
+    /**
+     * Streams all users as newline delimited JSON.
+     */
+    @GetMapping(produces = NdJsonResponses.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return NdJsonResponses.stream(objectMapper, userService::streamAllUsers);
+    }
+
+    /**
+     * Imports users from NDJSON or a JSON array, reporting rejected rows.
+     */
+    @PostMapping(path = "/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, NdJsonResponses.MEDIA_TYPE})
+    public BulkImportResult importUsers(InputStream body) throws IOException {
+        BulkImportResult result = userImportService.importUsers(body);
+        log.info("Import users: {} imported, {} rejected", result.getImported(),
+            result.getRejected());
+        return result;
+    }
+
+    /**
+     * Imports friendships from NDJSON or a JSON array, reporting rejected rows.
+     */
+    @PostMapping(path = "/friends/bulk",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, NdJsonResponses.MEDIA_TYPE})
+    public BulkImportResult importFriendships(InputStream body) throws IOException {
+        BulkImportResult result = userImportService.importFriendships(body);
+        log.info("Import friendships: {} imported, {} rejected", result.getImported(),
+            result.getRejected());
+        return result;
     }
 
     @GetMapping("/{id}")
@@ -85,8 +129,10 @@ public class UserController {
     }
 
     @GetMapping("/{id}/friends")
-    public Collection<User> getFriendsOfUser(@PathVariable("id") long userId) {
-        return userService.getFriendsOfUser(userId);
+    public Collection<User> getFriendsOfUser(@PathVariable("id") long userId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return userService.getFriendsOfUser(userId, after, limit);
     }
 
     @GetMapping("/{id}/friends/common/{otherId}")
@@ -97,8 +143,10 @@ public class UserController {
     }
 
     @GetMapping("/{id}/feed")
-    public Collection<Event> getEventsOfUser(@PathVariable("id") long userId) {
-        return userService.getEventsOfUser(userId);
+    public Collection<Event> getEventsOfUser(@PathVariable("id") long userId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return userService.getEventsOfUser(userId, after, limit);
     }
 
     @DeleteMapping("/{id}")
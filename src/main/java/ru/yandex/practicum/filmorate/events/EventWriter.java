@@ -0,0 +1,180 @@
+package ru.yandex.practicum.filmorate.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.storage.EventStorage;
+
+/**
+ * Persists feed events in background batches.
+ *
+ * <p>Events are put into a bounded queue, so producers block when the writer falls
+ * behind. A single writer thread collects up to {@code batchSize} events, waiting at
+ * most {@code lingerMs} for a batch to fill, and saves them in one transaction.
+ * If the batch fails, its events are retried one by one and only the failing ones
+ * are dropped. Remaining events are written on shutdown.
+ */
+@Component
+@Slf4j
+public class EventWriter {
+
+    private final EventStorage eventStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long lingerMs;
+    private final long shutdownTimeoutMs;
+
+    private final BlockingQueue<Event> queue;
+    private final AtomicLong submitted = new AtomicLong();
+    private final Object progress = new Object();
+    private long written;
+
+    private volatile boolean running;
+    private volatile boolean flushRequested;
+    private Thread writer;
+
+    @Autowired
+    public EventWriter(EventStorage eventStorage, TransactionTemplate transactionTemplate,
+            @Value("${filmorate.events.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${filmorate.events.writer.batch-size:100}") int batchSize,
+            @Value("${filmorate.events.writer.linger-ms:20}") long lingerMs,
+            @Value("${filmorate.events.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.eventStorage = eventStorage;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "event-writer");
+        writer.start();
+    }
+
+    /**
+     * Stops accepting new events and waits until queued ones are written.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(shutdownTimeoutMs);
+        if (writer.isAlive()) {
+            log.warn("Event writer did not finish in {} ms, {} events are lost",
+                shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    /**
+     * Queues an event for writing. Blocks while the queue is full.
+     */
+    public void submit(Event event) {
+        try {
+            queue.put(event);
+            submitted.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while queueing event {}, writing it directly", event);
+            eventStorage.save(event);
+        }
+    }
+
+    /**
+     * Waits until all events submitted by any producer before the call are written.
+     * This is a global barrier, so request paths do not call it.
+     */
+    public void flush() {
+        long target = submitted.get();
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        flushRequested = true;
+        synchronized (progress) {
+            while (written < target && writer.isAlive()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    log.warn("Timed out after {} ms waiting for event writer", shutdownTimeoutMs);
+                    return;
+                }
+                try {
+                    progress.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void fill(List<Event> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || flushRequested || !running || remaining <= 0) {
+                return;
+            }
+            Event next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Event> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventStorage.saveAll(batch));
+        } catch (RuntimeException e) {
+            log.debug("Batch of {} events failed, retrying one by one", batch.size(), e);
+            for (Event event : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> eventStorage.save(event));
+                } catch (RuntimeException eventError) {
+                    log.error("Failed to write event {}", event, eventError);
+                }
+            }
+        }
+
+        if (queue.isEmpty()) {
+            flushRequested = false;
+        }
+        synchronized (progress) {
+            written += batch.size();
+            progress.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.yandex.practicum.filmorate.events;
+
+import java.time.ZonedDateTime;
+import lombok.Getter;
+
+/**
+ * Represents an event when a film was deleted.
+ */
+@Getter
+public final class FilmDeleted extends FilmDomainEvent {
+
+    public FilmDeleted(ZonedDateTime occurredOn, long filmId) {
+        super(occurredOn, filmId);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.yandex.practicum.filmorate.events;
+
+import java.time.ZonedDateTime;
+import lombok.Getter;
+
+/**
+ * Base class for film related domain events.
+ */
+@Getter
+public abstract class FilmDomainEvent extends DomainEvent {
+
+    protected final long filmId;
+
+    public FilmDomainEvent(ZonedDateTime occurredOn, long filmId) {
+        super(occurredOn);
+        this.filmId = filmId;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.yandex.practicum.filmorate.events;
+
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import ru.yandex.practicum.filmorate.model.Film;
+
+/**
+ * Represents an event when a film was created or updated.
+ */
+@Getter
+public final class FilmSaved extends FilmDomainEvent {
+
+    private final Film film;
+
+    public FilmSaved(ZonedDateTime occurredOn, Film film) {
+        super(occurredOn, film.getId());
+        this.film = film;
+    }
+}
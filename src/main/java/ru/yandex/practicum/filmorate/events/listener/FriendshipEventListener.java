@@ -3,10 +3,15 @@ package ru.yandex.practicum.filmorate.events.listener;
 import lombok.AllArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.events.EventWriter;
 import ru.yandex.practicum.filmorate.events.UserAddedFriend;
 import ru.yandex.practicum.filmorate.events.UserRemovedFriend;
 import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.Friendship;
 import ru.yandex.practicum.filmorate.storage.EventStorage;
+import ru.yandex.practicum.filmorate.storage.FriendshipStorage;
 
 /**
  * Listener of events related to friendship.
@@ -20,10 +25,39 @@ public class FriendshipEventListener {
     private static final String EVENT_OPERATION_REMOVE = "REMOVE";
 
     private final EventStorage eventStorage;
+    private final EventWriter eventWriter;
+    private final FriendshipStorage friendshipStorage;
 
-    @EventListener(UserAddedFriend.class)
+    /**
+     * Shows past events of the new friend in the feed of the user. Once the
+     * friendship is confirmed, past events are shown in both directions, so
+     * the confirming user sees the events of the original inviter too.
+     */
+    @EventListener
+    public void updateFeedOnUserAddedFriend(UserAddedFriend event) {
+        eventStorage.addToFeed(event.getUserId(), event.getFriendId());
+
+        boolean confirmed = friendshipStorage
+            .getFriendshipMetadataByUserIds(event.getUserId(), event.getFriendId())
+            .map(Friendship::isConfirmed)
+            .orElse(false);
+        if (confirmed) {
+            eventStorage.addToFeed(event.getFriendId(), event.getUserId());
+        }
+    }
+
+    /**
+     * Hides events of former friends from feeds of each other.
+     */
+    @EventListener
+    public void updateFeedOnUserRemovedFriend(UserRemovedFriend event) {
+        eventStorage.removeFromFeed(event.getUserId(), event.getFriendId());
+        eventStorage.removeFromFeed(event.getFriendId(), event.getUserId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserAddedFriend(UserAddedFriend event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getFriendId(),
@@ -33,9 +67,9 @@ public class FriendshipEventListener {
         ));
     }
 
-    @EventListener(UserRemovedFriend.class)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserRemovedFriend(UserRemovedFriend event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getFriendId(),
@@ -1,12 +1,13 @@
 package ru.yandex.practicum.filmorate.events.listener;
 
 import lombok.AllArgsConstructor;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.events.EventWriter;
 import ru.yandex.practicum.filmorate.events.UserLikedFilm;
 import ru.yandex.practicum.filmorate.events.UserRevokedLikeOfFilm;
 import ru.yandex.practicum.filmorate.model.Event;
-import ru.yandex.practicum.filmorate.storage.EventStorage;
 
 /**
  * Listener of events related to film likes.
@@ -19,11 +20,11 @@ public class LikeEventListener {
     private static final String EVENT_OPERATION_ADD = "ADD";
     private static final String EVENT_OPERATION_REMOVE = "REMOVE";
 
-    private final EventStorage eventStorage;
+    private final EventWriter eventWriter;
 
-    @EventListener(UserLikedFilm.class)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserLikedFilm(UserLikedFilm event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getFilmId(),
@@ -33,9 +34,9 @@ public class LikeEventListener {
         ));
     }
 
-    @EventListener(UserRevokedLikeOfFilm.class)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserRevokedLikeOfFilm(UserRevokedLikeOfFilm event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getFilmId(),
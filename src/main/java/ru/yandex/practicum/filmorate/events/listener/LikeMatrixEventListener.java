@@ -0,0 +1,40 @@
+package ru.yandex.practicum.filmorate.events.listener;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.events.FilmDeleted;
+import ru.yandex.practicum.filmorate.events.UserLikedFilm;
+import ru.yandex.practicum.filmorate.events.UserRevokedLikeOfFilm;
+import ru.yandex.practicum.filmorate.storage.index.FilmSimilarityIndex;
+import ru.yandex.practicum.filmorate.storage.index.LikeMatrix;
+
+/**
+ * Keeps in-memory like matrix and similarities derived from it in sync with committed likes.
+ */
+@Component
+@AllArgsConstructor
+public class LikeMatrixEventListener {
+
+    private final LikeMatrix likeMatrix;
+    private final FilmSimilarityIndex similarityIndex;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserLikedFilm(UserLikedFilm event) {
+        likeMatrix.addLike(event.getUserId(), event.getFilmId());
+        similarityIndex.onLikeChanged(event.getUserId(), event.getFilmId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRevokedLikeOfFilm(UserRevokedLikeOfFilm event) {
+        likeMatrix.removeLike(event.getUserId(), event.getFilmId());
+        similarityIndex.onLikeChanged(event.getUserId(), event.getFilmId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFilmDeleted(FilmDeleted event) {
+        likeMatrix.removeFilm(event.getFilmId());
+        similarityIndex.remove(event.getFilmId());
+    }
+}
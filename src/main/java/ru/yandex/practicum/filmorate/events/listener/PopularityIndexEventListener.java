@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate.events.listener;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.events.FilmDeleted;
+import ru.yandex.practicum.filmorate.events.FilmSaved;
+import ru.yandex.practicum.filmorate.events.UserLikedFilm;
+import ru.yandex.practicum.filmorate.events.UserRevokedLikeOfFilm;
+import ru.yandex.practicum.filmorate.storage.index.FilmPopularityIndex;
+
+/**
+ * Keeps popularity index in sync with committed changes of films and likes.
+ */
+@Component
+@AllArgsConstructor
+public class PopularityIndexEventListener {
+
+    private final FilmPopularityIndex popularityIndex;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFilmSaved(FilmSaved event) {
+        popularityIndex.put(event.getFilm());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFilmDeleted(FilmDeleted event) {
+        popularityIndex.remove(event.getFilmId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserLikedFilm(UserLikedFilm event) {
+        popularityIndex.addLikes(event.getFilmId(), 1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRevokedLikeOfFilm(UserRevokedLikeOfFilm event) {
+        popularityIndex.addLikes(event.getFilmId(), -1);
+    }
+}
@@ -1,13 +1,14 @@
 package ru.yandex.practicum.filmorate.events.listener;
 
 import lombok.AllArgsConstructor;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.events.EventWriter;
 import ru.yandex.practicum.filmorate.events.UserLeavedReview;
 import ru.yandex.practicum.filmorate.events.UserRemovedReview;
 import ru.yandex.practicum.filmorate.events.UserUpdatedReview;
 import ru.yandex.practicum.filmorate.model.Event;
-import ru.yandex.practicum.filmorate.storage.EventStorage;
 
 /**
  * Listener of events related to film reviews.
@@ -21,11 +22,11 @@ public class ReviewEventListener {
     private static final String EVENT_OPERATION_UPDATE = "UPDATE";
     private static final String EVENT_OPERATION_REMOVE = "REMOVE";
 
-    private final EventStorage eventStorage;
+    private final EventWriter eventWriter;
 
-    @EventListener(UserLeavedReview.class)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserLeavedReview(UserLeavedReview event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getReviewId(),
@@ -35,9 +36,9 @@ public class ReviewEventListener {
         ));
     }
 
-    @EventListener(UserUpdatedReview.class)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserUpdatedReview(UserUpdatedReview event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getReviewId(),
@@ -47,9 +48,9 @@ public class ReviewEventListener {
         ));
     }
 
-    @EventListener(UserRemovedReview.class)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onUserRemovedReview(UserRemovedReview event) {
-        eventStorage.save(new Event(
+        eventWriter.submit(new Event(
             null,
             event.getUserId(),
             event.getReviewId(),
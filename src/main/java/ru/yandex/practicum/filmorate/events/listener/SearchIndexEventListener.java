@@ -0,0 +1,29 @@
+package ru.yandex.practicum.filmorate.events.listener;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.yandex.practicum.filmorate.events.FilmDeleted;
+import ru.yandex.practicum.filmorate.events.FilmSaved;
+import ru.yandex.practicum.filmorate.storage.index.FilmSearchIndex;
+
+/**
+ * Keeps full-text search index in sync with committed changes of films.
+ */
+@Component
+@AllArgsConstructor
+public class SearchIndexEventListener {
+
+    private final FilmSearchIndex searchIndex;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFilmSaved(FilmSaved event) {
+        searchIndex.put(event.getFilm());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFilmDeleted(FilmDeleted event) {
+        searchIndex.remove(event.getFilmId());
+    }
+}
@@ -0,0 +1,17 @@
+package ru.yandex.practicum.filmorate.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * How far a background backfill got: the greatest key filled so far.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BackfillProgress {
+    private final String name;
+    private final long lastKey;
+    private final boolean completed;
+}
@@ -0,0 +1,50 @@
+package ru.yandex.practicum.filmorate.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of a bulk import: counters and errors of rejected rows.
+ * Rows are numbered from one in order of appearance in the input.
+ */
+@Getter
+@ToString
+public class BulkImportResult {
+
+    /** Maximum number of errors reported in detail. */
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long received;
+    private long imported;
+    private long rejected;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void addReceived(long count) {
+        received += count;
+    }
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long row, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    /**
+     * Error of a single rejected row.
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class RowError {
+        private final long row;
+        private final String message;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.yandex.practicum.filmorate.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import javax.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Identifies a like of a film by a user in batch requests.
+ */
+@Getter
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
+@EqualsAndHashCode
+@ToString
+public class LikePair {
+
+    @Positive
+    private final long userId;
+
+    @Positive
+    private final long filmId;
+}
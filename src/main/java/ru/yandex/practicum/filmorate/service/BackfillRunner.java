@@ -0,0 +1,68 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.util.List;
+import java.util.OptionalLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.filmorate.model.BackfillProgress;
+import ru.yandex.practicum.filmorate.storage.Backfill;
+import ru.yandex.practicum.filmorate.storage.BackfillProgressStorage;
+
+/**
+ * Background job which fills new denormalized columns of existing rows.
+ *
+ * <p>Schema migrations only add columns, data is filled here after startup. Every
+ * run fills one chunk of the first unfinished backfill in its own transaction and
+ * saves how far it got, so locks are held briefly and an interrupted backfill
+ * resumes where it stopped.
+ */
+@Component
+@Slf4j
+public class BackfillRunner {
+
+    private final List<Backfill> backfills;
+    private final BackfillProgressStorage progressStorage;
+    private final int chunkSize;
+
+    @Autowired
+    public BackfillRunner(List<Backfill> backfills, BackfillProgressStorage progressStorage,
+            @Value("${filmorate.backfill.chunk-size:500}") int chunkSize) {
+        this.backfills = backfills;
+        this.progressStorage = progressStorage;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Fills the next chunk. Returns whether any backfill is left unfinished.
+     */
+    @Scheduled(
+        initialDelayString = "${filmorate.backfill.initial-delay-ms:10000}",
+        fixedDelayString = "${filmorate.backfill.delay-ms:100}")
+    @Transactional
+    public boolean fillNextChunk() {
+        for (Backfill backfill : backfills) {
+            String name = backfill.getName();
+            if (progressStorage.isCompleted(name)) {
+                continue;
+            }
+
+            long after = progressStorage.getProgress(name)
+                .map(BackfillProgress::getLastKey)
+                .orElse(0L);
+            OptionalLong last = backfill.fillAfter(after, chunkSize);
+            if (last.isPresent()) {
+                progressStorage.save(new BackfillProgress(name, last.getAsLong(), false));
+                log.debug("Backfill {} filled keys up to {}", name, last.getAsLong());
+            } else {
+                progressStorage.save(new BackfillProgress(name, after, true));
+                log.info("Backfill {} completed", name);
+            }
+            return true;
+        }
+        return false;
+    }
+}
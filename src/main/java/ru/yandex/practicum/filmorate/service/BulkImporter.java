@@ -0,0 +1,156 @@
+package ru.yandex.practicum.filmorate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
+import ru.yandex.practicum.filmorate.validation.ValidationMarker;
+
+/**
+ * Streams entities from NDJSON or a JSON array into storage in chunks.
+ *
+ * <p>Entities are parsed one by one, validated with the {@code OnCreate} group and
+ * saved in chunks of {@code chunkSize}, each chunk in its own transaction. When a chunk
+ * fails, its rows are retried one by one, so a single bad row is reported without
+ * losing the rest of the chunk.
+ */
+@Component
+@Slf4j
+public class BulkImporter {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public BulkImporter(ObjectMapper objectMapper, Validator validator,
+            TransactionTemplate transactionTemplate,
+            @Value("${filmorate.import.chunk-size:1000}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports all entities of the input.
+     *
+     * @param check additional check of an entity, returns error message if it is invalid.
+     * @param save saves a chunk of valid entities.
+     */
+    public <T> BulkImportResult importAll(InputStream input, Class<T> type,
+            Function<T, Optional<String>> check, Consumer<List<T>> save) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Long> rows = new ArrayList<>(chunkSize);
+        long row = 0;
+
+        try (MappingIterator<JsonNode> iterator =
+                objectMapper.readerFor(JsonNode.class).readValues(input)) {
+            while (true) {
+                JsonNode node;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    node = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    result.addReceived(1);
+                    result.addError(row, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                }
+
+                result.addReceived(1);
+                T entity;
+                try {
+                    entity = objectMapper.treeToValue(node, type);
+                } catch (JsonProcessingException e) {
+                    result.addError(row, "Invalid value: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                Optional<String> error = validate(entity).or(() -> check.apply(entity));
+                if (error.isPresent()) {
+                    result.addError(row, error.get());
+                    continue;
+                }
+
+                chunk.add(entity);
+                rows.add(row);
+                if (chunk.size() >= chunkSize) {
+                    saveChunk(chunk, rows, save, result);
+                }
+            }
+        }
+        saveChunk(chunk, rows, save, result);
+
+        log.info("Bulk import of {}: {} received, {} imported, {} rejected",
+            type.getSimpleName(), result.getReceived(), result.getImported(),
+            result.getRejected());
+        return result;
+    }
+
+    private <T> Optional<String> validate(T entity) {
+        Set<ConstraintViolation<T>> violations =
+            validator.validate(entity, ValidationMarker.OnCreate.class);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(violations.stream()
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", ")));
+    }
+
+    private <T> void saveChunk(List<T> chunk, List<Long> rows, Consumer<List<T>> save,
+            BulkImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> save.accept(chunk));
+            result.addImported(chunk.size());
+        } catch (RuntimeException e) {
+            log.debug("Chunk of {} rows failed, retrying row by row", chunk.size(), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                List<T> single = List.of(chunk.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save.accept(single));
+                    result.addImported(1);
+                } catch (RuntimeException rowError) {
+                    result.addError(rows.get(i), "Not saved: " + rootMessage(rowError));
+                }
+            }
+        }
+        chunk.clear();
+        rows.clear();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.events.FilmSaved;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.storage.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.GenreStorage;
+
+/**
+ * Imports catalogs of films in bulk.
+ */
+@Service
+@AllArgsConstructor
+public class FilmImportService {
+
+    private final FilmStorage filmStorage;
+    private final GenreStorage genreStorage;
+    private final BulkImporter bulkImporter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Imports films from NDJSON or a JSON array. Invalid films are reported
+     * and skipped, valid ones are saved.
+     */
+    public BulkImportResult importFilms(InputStream input) throws IOException {
+        return bulkImporter.importAll(input, Film.class, this::checkGenres, this::saveFilms);
+    }
+
+    private Optional<String> checkGenres(Film film) {
+        if (film.getGenres() != null) {
+            for (Genre genre : film.getGenres()) {
+                if (genreStorage.getGenre(genre.getId()).isEmpty()) {
+                    return Optional.of("genres: unknown genre " + genre.getId());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void saveFilms(List<Film> films) {
+        filmStorage.saveAll(films);
+        ZonedDateTime now = ZonedDateTime.now();
+        for (Film film : films) {
+            eventPublisher.publishEvent(new FilmSaved(now, film));
+        }
+    }
+}
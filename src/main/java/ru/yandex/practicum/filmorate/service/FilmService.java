@@ -1,14 +1,33 @@
 package ru.yandex.practicum.filmorate.service;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.events.FilmDeleted;
+import ru.yandex.practicum.filmorate.events.FilmSaved;
 import ru.yandex.practicum.filmorate.model.Film;
 import ru.yandex.practicum.filmorate.service.exception.FilmNotFoundException;
+import ru.yandex.practicum.filmorate.service.exception.InvalidCursorException;
+import ru.yandex.practicum.filmorate.service.exception.InvalidSearchCriteriaException;
 import ru.yandex.practicum.filmorate.storage.FilmReadModel;
 import ru.yandex.practicum.filmorate.storage.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.index.FilmPopularityIndex;
+import ru.yandex.practicum.filmorate.storage.index.FilmSearchIndex;
+import ru.yandex.practicum.filmorate.storage.index.FilmSimilarityIndex;
 
 /**
  * Provides service layer for films management.
@@ -17,18 +36,37 @@ import ru.yandex.practicum.filmorate.storage.FilmStorage;
 public class FilmService {
 
     public static final String SEARCH_BY_TITLE = "TITLE";
+    public static final String SEARCH_BY_DESCRIPTION = "DESCRIPTION";
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int MAX_SEARCH_CANDIDATES = 10_000;
+    private static final double POPULARITY_WEIGHT = 0.5;
 
     private final FilmStorage filmStorage;
     private final FilmReadModel filmReadModel;
+    private final FilmPopularityIndex popularityIndex;
+    private final RecommendationEngine recommendationEngine;
+    private final FilmSimilarityIndex similarityIndex;
+    private final FilmSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public FilmService(FilmStorage filmStorage, FilmReadModel filmReadModel) {
+    public FilmService(FilmStorage filmStorage, FilmReadModel filmReadModel,
+            FilmPopularityIndex popularityIndex, RecommendationEngine recommendationEngine,
+            FilmSimilarityIndex similarityIndex, FilmSearchIndex searchIndex,
+            ApplicationEventPublisher eventPublisher) {
         this.filmStorage = filmStorage;
         this.filmReadModel = filmReadModel;
+        this.popularityIndex = popularityIndex;
+        this.recommendationEngine = recommendationEngine;
+        this.similarityIndex = similarityIndex;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public Film createFilm(Film film) {
         filmStorage.save(film);
+        eventPublisher.publishEvent(new FilmSaved(ZonedDateTime.now(), film));
         return film;
     }
 
@@ -48,23 +86,50 @@ public class FilmService {
         existedFilm.setGenres(film.getGenres());
 
         filmStorage.save(existedFilm);
+        eventPublisher.publishEvent(new FilmSaved(ZonedDateTime.now(), existedFilm));
         return existedFilm;
     }
 
-    public Collection<Film> getRecommendations(Long userId) {
-        return filmReadModel.getRecommendationsForUser(userId);
+    /**
+     * Returns films recommended to user, most relevant first.
+     */
+    public Collection<Film> getRecommendations(Long userId, int limit) {
+        return filmReadModel.getFilmsByIds(
+            recommendationEngine.getRecommendationsForUser(userId, limit));
     }
 
-    public Collection<Film> getAllFilms() {
-        return filmReadModel.getAll();
+    /**
+     * Returns films most often liked by the same users as the given film.
+     *
+     * @throws FilmNotFoundException in case film not found by its identity.
+     */
+    public Collection<Film> getSimilarFilms(long filmId, int limit) {
+        ensureFilmExists(filmId);
+        return filmReadModel.getFilmsByIds(similarityIndex.getSimilarFilmIds(filmId, limit));
     }
 
+    /**
+     * Returns a page of films ordered by identity, starting after the film with
+     * identity {@code after}. All films are returned if no paging is requested.
+     */
+    public Collection<Film> getAllFilms(Long after, Integer limit) {
+        return filmReadModel.getAll(Paging.after(after), Paging.limit(after, limit));
+    }
+
+    public void streamAllFilms(Consumer<Film> action) {
+        filmReadModel.streamAll(action);
+    }
+
+    /**
+     * Returns most liked films. Ranking is served by in-memory popularity index,
+     * only the resulting page of films is loaded from storage.
+     */
     public Collection<Film> getMostPopularFilms(Long genreId, Integer year, int limit) {
-        return filmReadModel.getMostPopularFilms(
+        return filmReadModel.getFilmsByIds(popularityIndex.getMostPopularFilmIds(
             genreId != null ? OptionalLong.of(genreId) : OptionalLong.empty(),
             year != null ? OptionalInt.of(year) : OptionalInt.empty(),
             limit
-        );
+        ));
     }
 
     public Film getFilm(long filmId) {
@@ -72,22 +137,80 @@ public class FilmService {
             new FilmNotFoundException(filmId));
     }
 
-    public Collection<Film> getFilmsBySearch(String query, String by) {
-        if (query != null && by.equalsIgnoreCase(SEARCH_BY_TITLE)) {
-            return filmReadModel.getFilmsBySearch(query);
-        } else {
-            return filmReadModel.getMostPopularFilms(Integer.MAX_VALUE);
+    /**
+     * Returns films which given fields contain the query. Films are ranked by text
+     * relevance blended with popularity and returned by pages of at most
+     * {@value #MAX_SEARCH_RESULTS} films. Next page starts after the film with
+     * identity {@code after}: the page seeks past that film's score and identity
+     * and keeps only the best films beyond it, without ranking the whole result.
+     *
+     * @param by comma separated list of fields to search in: title, description.
+     * @throws InvalidSearchCriteriaException in case of unsupported search field.
+     * @throws InvalidCursorException in case film {@code after} does not match the query.
+     */
+    public Collection<Film> getFilmsBySearch(String query, String by, Long after, int limit) {
+        Set<FilmSearchIndex.Field> fields = parseSearchFields(by);
+
+        List<FilmSearchIndex.Hit> hits = searchIndex.search(query, fields, MAX_SEARCH_CANDIDATES);
+        Map<Long, Double> scores = new HashMap<>(hits.size() * 2);
+        for (FilmSearchIndex.Hit hit : hits) {
+            scores.put(hit.getFilmId(), hit.getScore() + POPULARITY_WEIGHT
+                * Math.log1p(popularityIndex.getLikes(hit.getFilmId())));
+        }
+
+        Comparator<Long> ranking = Comparator.comparing((Long id) -> scores.get(id)).reversed()
+            .thenComparing(Comparator.naturalOrder());
+        if (after != null && !scores.containsKey(after)) {
+            throw new InvalidCursorException(after);
+        }
+
+        int pageSize = Math.min(limit, MAX_SEARCH_RESULTS);
+        if (pageSize <= 0) {
+            return List.of();
         }
+        PriorityQueue<Long> page = new PriorityQueue<>(pageSize + 1, ranking.reversed());
+        for (Long filmId : scores.keySet()) {
+            if (after != null && ranking.compare(filmId, after) <= 0) {
+                continue;
+            }
+            page.add(filmId);
+            if (page.size() > pageSize) {
+                page.poll();
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(page);
+        ranked.sort(ranking);
+        return filmReadModel.getFilmsByIds(ranked);
+    }
+
+    private static Set<FilmSearchIndex.Field> parseSearchFields(String by) {
+        Set<FilmSearchIndex.Field> fields = EnumSet.noneOf(FilmSearchIndex.Field.class);
+        for (String criteria : by.split(",")) {
+            switch (criteria.trim().toUpperCase(Locale.ROOT)) {
+                case SEARCH_BY_TITLE:
+                    fields.add(FilmSearchIndex.Field.TITLE);
+                    break;
+                case SEARCH_BY_DESCRIPTION:
+                    fields.add(FilmSearchIndex.Field.DESCRIPTION);
+                    break;
+                default:
+                    throw new InvalidSearchCriteriaException(criteria);
+            }
+        }
+        return fields;
     }
 
     private void ensureFilmExists(long filmId) {
-        filmStorage.getFilm(filmId).orElseThrow(() ->
-                new FilmNotFoundException(filmId));
+        if (!filmStorage.exists(filmId)) {
+            throw new FilmNotFoundException(filmId);
+        }
     }
 
     public void deleteFilm(long filmId) {
         ensureFilmExists(filmId);
         filmStorage.delete(filmId);
+        eventPublisher.publishEvent(new FilmDeleted(ZonedDateTime.now(), filmId));
     }
 
     public Collection<Film> getCommonFilms(Long userId, Long friendId) {
@@ -0,0 +1,40 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.util.Collection;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.filmorate.storage.LikeStorage;
+import ru.yandex.practicum.filmorate.storage.index.FilmPopularityIndex;
+
+/**
+ * Background job which repairs denormalized like counters of films.
+ */
+@Component
+@Slf4j
+@AllArgsConstructor
+public class LikeCountReconciler {
+
+    private final LikeStorage likeStorage;
+    private final FilmPopularityIndex popularityIndex;
+
+    /**
+     * Detects films which like counter drifted from the likes table and recounts them.
+     */
+    @Scheduled(
+        initialDelayString = "${filmorate.likes.reconciliation.initial-delay-ms:60000}",
+        fixedDelayString = "${filmorate.likes.reconciliation.delay-ms:600000}")
+    @Transactional
+    public void reconcile() {
+        Collection<Long> staleFilms = likeStorage.getFilmsWithStaleLikeCount();
+        if (staleFilms.isEmpty()) {
+            return;
+        }
+
+        log.warn("Like counters of {} films drifted, recounting", staleFilms.size());
+        staleFilms.forEach(likeStorage::recountLikes);
+        popularityIndex.load();
+    }
+}
@@ -2,7 +2,13 @@ package ru.yandex.practicum.filmorate.service;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import lombok.AllArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -10,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.yandex.practicum.filmorate.events.UserLikedFilm;
 import ru.yandex.practicum.filmorate.events.UserRevokedLikeOfFilm;
 import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.LikePair;
 import ru.yandex.practicum.filmorate.service.exception.FilmNotFoundException;
 import ru.yandex.practicum.filmorate.service.exception.UserNotFoundException;
 import ru.yandex.practicum.filmorate.storage.FilmStorage;
@@ -29,7 +36,8 @@ public class LikeService {
     private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Marks a film as liked by user.
+     * Marks a film as liked by user. The like counter and the feed change only if
+     * this call saved the like, so concurrent repeated likes count once.
      *
      * @throws UserNotFoundException in case user not found by its identity.
      * @throws FilmNotFoundException in case film not found by its identity.
@@ -39,19 +47,19 @@ public class LikeService {
         ensureUserExists(userId);
         ensureFilmExists(filmId);
 
-        if (likeStorage.getLikeMetadataByUserAndFilm(userId, filmId).isPresent()) {
-            return;
-        }
-
         ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
         Like like = new Like(userId, filmId, now);
-        likeStorage.save(like);
+        if (!likeStorage.saveIfAbsent(like)) {
+            return;
+        }
+        likeStorage.updateLikeCount(filmId, 1);
 
         eventPublisher.publishEvent(new UserLikedFilm(ZonedDateTime.now(), userId, filmId));
     }
 
     /**
-     * Removes user's like from the film.
+     * Removes user's like from the film. The like counter and the feed change only
+     * if this call deleted the like, so concurrent repeated unlikes count once.
      *
      * @throws UserNotFoundException in case user not found by its identity.
      * @throws FilmNotFoundException in case film not found by its identity.
@@ -61,22 +69,140 @@ public class LikeService {
         ensureUserExists(userId);
         ensureFilmExists(filmId);
 
-        Optional<Like> like = likeStorage.getLikeMetadataByUserAndFilm(userId, filmId);
+        if (!likeStorage.delete(new Like(userId, filmId, null))) {
+            return;
+        }
+        likeStorage.updateLikeCount(filmId, -1);
+
+        eventPublisher.publishEvent(new UserRevokedLikeOfFilm(ZonedDateTime.now(),
+            userId, filmId));
+    }
+
+    /**
+     * Marks films as liked by users. Pairs which are already liked are skipped,
+     * and only likes saved by this call change counters and the feed, so
+     * concurrent batches with the same pairs count each like once.
+     *
+     * @throws UserNotFoundException in case some user not found by its identity.
+     * @throws FilmNotFoundException in case some film not found by its identity.
+     */
+    @Transactional
+    public void doLikes(Collection<LikePair> pairs) {
+        ensureAllExist(pairs);
+
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        Set<Like> requested = new LinkedHashSet<>();
+        for (LikePair pair : pairs) {
+            requested.add(new Like(pair.getUserId(), pair.getFilmId(), now));
+        }
+        requested.removeAll(likeStorage.getExistingLikes(requested));
+        if (requested.isEmpty()) {
+            return;
+        }
+
+        List<Like> batch = new ArrayList<>(requested);
+        List<Like> added = changed(batch, likeStorage.saveLikes(batch));
+        if (added.isEmpty()) {
+            return;
+        }
+        likeStorage.updateLikeCounts(countByFilm(added, 1));
+
+        ZonedDateTime occurredOn = ZonedDateTime.now();
+        for (Like like : added) {
+            eventPublisher.publishEvent(new UserLikedFilm(occurredOn, like.getUserid(),
+                like.getFilmId()));
+        }
+    }
+
+    /**
+     * Removes likes of users from films. Pairs which are not liked are skipped,
+     * and only likes deleted by this call change counters and the feed.
+     *
+     * @throws UserNotFoundException in case some user not found by its identity.
+     * @throws FilmNotFoundException in case some film not found by its identity.
+     */
+    @Transactional
+    public void doUnlikes(Collection<LikePair> pairs) {
+        ensureAllExist(pairs);
+
+        Set<Like> requested = new LinkedHashSet<>();
+        for (LikePair pair : pairs) {
+            requested.add(new Like(pair.getUserId(), pair.getFilmId(), null));
+        }
+
+        List<Like> batch = new ArrayList<>(requested);
+        List<Like> removed = changed(batch, likeStorage.deleteLikes(batch));
+        if (removed.isEmpty()) {
+            return;
+        }
+        likeStorage.updateLikeCounts(countByFilm(removed, -1));
+
+        ZonedDateTime occurredOn = ZonedDateTime.now();
+        for (Like like : removed) {
+            eventPublisher.publishEvent(new UserRevokedLikeOfFilm(occurredOn, like.getUserid(),
+                like.getFilmId()));
+        }
+    }
+
+    /**
+     * Checks distinct users and films of the pairs with a single probe each.
+     */
+    private void ensureAllExist(Collection<LikePair> pairs) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> filmIds = new LinkedHashSet<>();
+        for (LikePair pair : pairs) {
+            userIds.add(pair.getUserId());
+            filmIds.add(pair.getFilmId());
+        }
+
+        Set<Long> existingUsers = userStorage.existingIds(userIds);
+        for (Long userId : userIds) {
+            if (!existingUsers.contains(userId)) {
+                throw new UserNotFoundException(userId);
+            }
+        }
+        Set<Long> existingFilms = filmStorage.existingIds(filmIds);
+        for (Long filmId : filmIds) {
+            if (!existingFilms.contains(filmId)) {
+                throw new FilmNotFoundException(filmId);
+            }
+        }
+    }
+
+    /**
+     * Returns likes for which a batched statement changed a row.
+     */
+    private static List<Like> changed(List<Like> likes, int[] counts) {
+        List<Like> changed = new ArrayList<>(likes.size());
+        for (int i = 0; i < likes.size(); i++) {
+            if (counts[i] == 1) {
+                changed.add(likes.get(i));
+            }
+        }
+        return changed;
+    }
 
-        like.ifPresent(l -> {
-            likeStorage.delete(l);
-            eventPublisher.publishEvent(new UserRevokedLikeOfFilm(ZonedDateTime.now(),
-                userId, filmId));
-        });
+    /**
+     * Sums deltas per film, ordered by film identity so that concurrent batches
+     * update counters in the same order.
+     */
+    private static Map<Long, Integer> countByFilm(List<Like> likes, int delta) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (Like like : likes) {
+            deltas.merge(like.getFilmId(), delta, Integer::sum);
+        }
+        return deltas;
     }
 
     private void ensureUserExists(long userId) {
-        userStorage.getUser(userId).orElseThrow(() ->
-            new UserNotFoundException(userId));
+        if (!userStorage.exists(userId)) {
+            throw new UserNotFoundException(userId);
+        }
     }
 
     private void ensureFilmExists(long filmId) {
-        filmStorage.getFilm(filmId).orElseThrow(() ->
-            new FilmNotFoundException(filmId));
+        if (!filmStorage.exists(filmId)) {
+            throw new FilmNotFoundException(filmId);
+        }
     }
 }
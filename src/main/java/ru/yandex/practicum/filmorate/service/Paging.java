@@ -0,0 +1,44 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.util.OptionalLong;
+
+/**
+ * Helpers for keyset pagination of list endpoints.
+ *
+ * <p>A request without both cursor and page size gets the whole list, as list
+ * endpoints did before pagination. Paged requests get at most
+ * {@value #DEFAULT_PAGE_SIZE} items unless they ask for another page size.
+ */
+public final class Paging {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private Paging() {
+    }
+
+    /**
+     * Converts an optional cursor to a seek key.
+     */
+    public static OptionalLong after(Long after) {
+        return after != null ? OptionalLong.of(after) : OptionalLong.empty();
+    }
+
+    /**
+     * Clamps requested page size to {@code [1, MAX_PAGE_SIZE]}.
+     */
+    public static int limit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Returns page size for optional paging parameters: unlimited if neither is
+     * given, the requested or default page size clamped otherwise.
+     */
+    public static int limit(Long after, Integer limit) {
+        if (after == null && limit == null) {
+            return Integer.MAX_VALUE;
+        }
+        return limit(limit != null ? limit : DEFAULT_PAGE_SIZE);
+    }
+}
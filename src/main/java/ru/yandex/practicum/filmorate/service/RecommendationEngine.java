@@ -0,0 +1,91 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.index.LikeMatrix;
+
+/**
+ * Collaborative filtering recommender based on likes of similar users.
+ *
+ * <p>Users are compared by Jaccard similarity of their liked films. Films liked by
+ * the most similar users and not yet liked by the target user are scored with the
+ * sum of similarities of users who liked them.
+ */
+@Component
+public class RecommendationEngine {
+
+    private final LikeMatrix likeMatrix;
+    private final int neighbours;
+
+    @Autowired
+    public RecommendationEngine(LikeMatrix likeMatrix,
+            @Value("${filmorate.recommendations.neighbours:20}") int neighbours) {
+        this.likeMatrix = likeMatrix;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Returns identities of recommended films ordered by descending score.
+     */
+    public List<Long> getRecommendationsForUser(long userId, int limit) {
+        long[] likedFilms = likeMatrix.getFilmsLikedBy(userId);
+        if (likedFilms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Integer> overlaps = new HashMap<>();
+        for (long filmId : likedFilms) {
+            for (long otherId : likeMatrix.getUsersWhoLiked(filmId)) {
+                if (otherId != userId) {
+                    overlaps.merge(otherId, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Scored> similarUsers = new ArrayList<>(overlaps.size());
+        overlaps.forEach((otherId, overlap) -> {
+            int otherLikes = likeMatrix.getFilmsLikedBy(otherId).length;
+            double similarity = (double) overlap / (likedFilms.length + otherLikes - overlap);
+            similarUsers.add(new Scored(otherId, similarity));
+        });
+        similarUsers.sort(Scored.BY_SCORE);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Scored similarUser : similarUsers.subList(0,
+                Math.min(neighbours, similarUsers.size()))) {
+            for (long filmId : likeMatrix.getFilmsLikedBy(similarUser.id)) {
+                if (Arrays.binarySearch(likedFilms, filmId) < 0) {
+                    scores.merge(filmId, similarUser.score, Double::sum);
+                }
+            }
+        }
+
+        return scores.entrySet().stream()
+            .map(e -> new Scored(e.getKey(), e.getValue()))
+            .sorted(Scored.BY_SCORE)
+            .limit(limit)
+            .map(Scored::getId)
+            .collect(Collectors.toList());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Scored {
+        private static final Comparator<Scored> BY_SCORE = Comparator
+            .comparingDouble(Scored::getScore).reversed()
+            .thenComparingLong(Scored::getId);
+
+        private final long id;
+        private final double score;
+    }
+}
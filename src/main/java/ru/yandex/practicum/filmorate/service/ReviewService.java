@@ -48,9 +48,14 @@ public class ReviewService {
             new ReviewNotFoundException(reviewId));
     }
 
-    public Collection<Review> getAllReviewsByFilmId(long reviewId, int count) {
-        ensureFilmExists(reviewId);
-        return reviewReadModel.getReviewsByFilmId(reviewId, count);
+    /**
+     * Returns a page of reviews of the film, most useful first. Next page starts
+     * after the review with identity {@code after}.
+     */
+    public Collection<Review> getAllReviewsByFilmId(long filmId, Long after, int count) {
+        ensureFilmExists(filmId);
+        return reviewReadModel.getReviewsByFilmId(filmId, Paging.after(after),
+            Paging.limit(count));
     }
 
     @Transactional
@@ -111,17 +116,20 @@ public class ReviewService {
     }
 
     private void ensureFilmExists(long filmId) {
-        filmStorage.getFilm(filmId).orElseThrow(() ->
-            new FilmNotFoundException(filmId));
+        if (!filmStorage.exists(filmId)) {
+            throw new FilmNotFoundException(filmId);
+        }
     }
 
     private void ensureUserExists(long userId) {
-        userStorage.getUser(userId).orElseThrow(() ->
-            new UserNotFoundException(userId));
+        if (!userStorage.exists(userId)) {
+            throw new UserNotFoundException(userId);
+        }
     }
 
     private void ensureReviewExists(long reviewId) {
-        reviewStorage.getReview(reviewId).orElseThrow(() ->
-            new ReviewNotFoundException(reviewId));
+        if (!reviewStorage.exists(reviewId)) {
+            throw new ReviewNotFoundException(reviewId);
+        }
     }
 }
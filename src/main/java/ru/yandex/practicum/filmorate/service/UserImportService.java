@@ -0,0 +1,74 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
+import ru.yandex.practicum.filmorate.model.Friendship;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.EventStorage;
+import ru.yandex.practicum.filmorate.storage.FriendshipStorage;
+import ru.yandex.practicum.filmorate.storage.UserStorage;
+
+/**
+ * Imports users and the friendship graph in bulk.
+ *
+ * <p>Unlike {@link UserService}, friendships are written without probing users one by
+ * one: rows referencing unknown users are rejected by the database and reported.
+ * Imported friendships are history, so no friend events are recorded for them, but
+ * feeds are filled with past events of the new friends.
+ */
+@Service
+@AllArgsConstructor
+public class UserImportService {
+
+    private final UserStorage userStorage;
+    private final FriendshipStorage friendshipStorage;
+    private final EventStorage eventStorage;
+    private final BulkImporter bulkImporter;
+
+    /**
+     * Imports users from NDJSON or a JSON array. Invalid users are reported
+     * and skipped, valid ones are saved.
+     */
+    public BulkImportResult importUsers(InputStream input) throws IOException {
+        return bulkImporter.importAll(input, User.class, user -> Optional.empty(),
+            this::saveUsers);
+    }
+
+    /**
+     * Imports friendships from NDJSON or a JSON array. Existing friendships
+     * of the same users are updated.
+     */
+    public BulkImportResult importFriendships(InputStream input) throws IOException {
+        return bulkImporter.importAll(input, Friendship.class, this::checkFriendship,
+            this::saveFriendships);
+    }
+
+    private void saveUsers(List<User> users) {
+        for (User user : users) {
+            if (user.getName() == null || user.getName().isBlank()) {
+                user.setName(user.getLogin());
+            }
+        }
+        userStorage.saveAll(users);
+    }
+
+    private Optional<String> checkFriendship(Friendship friendship) {
+        if (friendship.getInviterId() <= 0 || friendship.getAcceptorId() <= 0) {
+            return Optional.of("inviterId, acceptorId: must be positive");
+        }
+        if (friendship.getInviterId() == friendship.getAcceptorId()) {
+            return Optional.of("acceptorId: must differ from inviterId");
+        }
+        return Optional.empty();
+    }
+
+    private void saveFriendships(List<Friendship> friendships) {
+        friendshipStorage.saveFriendships(friendships);
+        eventStorage.addToFeeds(friendships);
+    }
+}
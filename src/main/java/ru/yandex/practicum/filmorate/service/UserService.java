@@ -2,7 +2,10 @@ package ru.yandex.practicum.filmorate.service;
 
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import lombok.AllArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -59,8 +62,16 @@ public class UserService {
         return existedUser;
     }
 
-    public Collection<User> getAllUsers() {
-        return userReadModel.getAll();
+    /**
+     * Returns a page of users ordered by identity, starting after the user with
+     * identity {@code after}. All users are returned if no paging is requested.
+     */
+    public Collection<User> getAllUsers(Long after, Integer limit) {
+        return userReadModel.getAll(Paging.after(after), Paging.limit(after, limit));
+    }
+
+    public void streamAllUsers(Consumer<User> action) {
+        userReadModel.streamAll(action);
     }
 
     public User getUser(long userId) {
@@ -75,8 +86,7 @@ public class UserService {
      */
     @Transactional
     public void makeFriends(long inviterId, long acceptorId) {
-        ensureUserExists(inviterId);
-        ensureUserExists(acceptorId);
+        ensureUsersExist(inviterId, acceptorId);
 
         Friendship existedFriendship =
             friendshipStorage.getFriendshipMetadataByUserIds(inviterId, acceptorId)
@@ -107,8 +117,7 @@ public class UserService {
      */
     @Transactional
     public void unfriendUsers(long userId, long otherId) {
-        ensureUserExists(userId);
-        ensureUserExists(otherId);
+        ensureUsersExist(userId, otherId);
 
         Optional<Friendship> friendship =
             friendshipStorage.getFriendshipMetadataByUserIds(userId, otherId);
@@ -121,14 +130,15 @@ public class UserService {
     }
 
     /**
-     * Returns list of friends of user.
+     * Returns a page of friends of user ordered by identity.
      *
      * @throws UserNotFoundException in case user not found by its identity.
      */
-    public Collection<User> getFriendsOfUser(long userId) {
+    public Collection<User> getFriendsOfUser(long userId, Long after, Integer limit) {
         ensureUserExists(userId);
 
-        return userReadModel.getFriendsOfUser(userId);
+        return userReadModel.getFriendsOfUser(userId, Paging.after(after),
+            Paging.limit(after, limit));
     }
 
     /**
@@ -137,24 +147,42 @@ public class UserService {
      * @throws UserNotFoundException in case user not found by its identity.
      */
     public Collection<User> getCommonFriends(long userId, long otherId) {
-        ensureUserExists(userId);
-        ensureUserExists(otherId);
+        ensureUsersExist(userId, otherId);
 
         return userReadModel.getCommonFriendsOfUsers(userId, otherId);
     }
 
     /**
-     * Returns list of last events user related to.
+     * Returns a page of last events user related to. Next page starts after
+     * the event with identity {@code after}. Events are written in background
+     * batches, so the feed is eventually consistent: a new event shows up once
+     * the event writer saves its batch, usually within its linger time.
      *
      * @throws UserNotFoundException in case user not found by its identity.
      */
-    public Collection<Event> getEventsOfUser(long userId) {
+    public Collection<Event> getEventsOfUser(long userId, Long after, Integer limit) {
         ensureUserExists(userId);
-        return eventReadModel.getEventsListForUser(userId);
+        return eventReadModel.getEventsListForUser(userId, Paging.after(after),
+            Paging.limit(after, limit));
     }
 
     private void ensureUserExists(long userId) {
-        userStorage.getUser(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        if (!userStorage.exists(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
+    /**
+     * Checks both users with a single probe.
+     */
+    private void ensureUsersExist(long userId, long otherId) {
+        Set<Long> existing = userStorage.existingIds(List.of(userId, otherId));
+        if (!existing.contains(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        if (!existing.contains(otherId)) {
+            throw new UserNotFoundException(otherId);
+        }
     }
 
     public void deleteUser(long userId) {
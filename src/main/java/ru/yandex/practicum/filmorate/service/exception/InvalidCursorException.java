@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.service.exception;
+
+/**
+ * Occurs in case if next page is requested after an item which is not in the result.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(long after) {
+        super(String.format("Item with id=%d is not in the result", after));
+    }
+}
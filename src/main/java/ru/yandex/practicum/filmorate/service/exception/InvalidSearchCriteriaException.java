@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.service.exception;
+
+/**
+ * Occurs in case if search is requested by unsupported field.
+ */
+public class InvalidSearchCriteriaException extends RuntimeException {
+
+    public InvalidSearchCriteriaException(String criteria) {
+        super(String.format("Search by '%s' is not supported", criteria));
+    }
+}
@@ -0,0 +1,24 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import java.util.OptionalLong;
+
+/**
+ * Fills a new denormalized column of existing rows in key order, chunk by chunk,
+ * so that no statement locks the whole table.
+ *
+ * <p>Writes made after the column was introduced maintain it themselves, a backfill
+ * only fills rows which are still empty.
+ */
+public interface Backfill {
+
+    /**
+     * Returns the name progress of the backfill is stored under.
+     */
+    String getName();
+
+    /**
+     * Fills at most {@code limit} rows with keys greater than {@code after}.
+     * Returns the greatest key of the chunk, empty when no rows are left.
+     */
+    OptionalLong fillAfter(long after, int limit);
+}
@@ -0,0 +1,20 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import java.util.Optional;
+import ru.yandex.practicum.filmorate.model.BackfillProgress;
+
+/**
+ * Repository for progress of background backfills.
+ */
+public interface BackfillProgressStorage {
+
+    Optional<BackfillProgress> getProgress(String name);
+
+    void save(BackfillProgress progress);
+
+    /**
+     * Checks whether the backfill has completed, so readers may rely on the column it
+     * fills. Does not query the database.
+     */
+    boolean isCompleted(String name);
+}
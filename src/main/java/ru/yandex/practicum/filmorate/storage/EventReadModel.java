@@ -1,6 +1,7 @@
 package ru.yandex.practicum.filmorate.storage;
 
 import java.util.Collection;
+import java.util.OptionalLong;
 import ru.yandex.practicum.filmorate.model.Event;
 
 /**
@@ -8,5 +9,13 @@ import ru.yandex.practicum.filmorate.model.Event;
  */
 public interface EventReadModel {
 
-    Collection<Event> getEventsListForUser(long userId);
+    default Collection<Event> getEventsListForUser(long userId) {
+        return getEventsListForUser(userId, OptionalLong.empty(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a page of events of friends of user, latest first,
+     * starting after event with given identity.
+     */
+    Collection<Event> getEventsListForUser(long userId, OptionalLong after, int limit);
 }
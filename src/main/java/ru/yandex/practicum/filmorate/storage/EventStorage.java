@@ -1,7 +1,10 @@
 package ru.yandex.practicum.filmorate.storage;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.Friendship;
 
 /**
  * Repository for events.
@@ -10,5 +13,28 @@ public interface EventStorage {
 
     Optional<Event> getEvent(long id);
 
+    /**
+     * Saves an event and delivers it to feeds of users following its author.
+     */
     void save(Event event);
+
+    /**
+     * Saves events with batched statements and delivers them to feeds.
+     */
+    void saveAll(List<Event> events);
+
+    /**
+     * Copies all events of the author to the feed of the owner.
+     */
+    void addToFeed(long ownerId, long authorId);
+
+    /**
+     * Copies past events of friends to feeds of users reading them, for each friendship.
+     */
+    void addToFeeds(Collection<Friendship> friendships);
+
+    /**
+     * Removes all events of the author from the feed of the owner.
+     */
+    void removeFromFeed(long ownerId, long authorId);
 }
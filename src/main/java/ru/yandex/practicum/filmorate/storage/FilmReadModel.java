@@ -1,8 +1,10 @@
 package ru.yandex.practicum.filmorate.storage;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import ru.yandex.practicum.filmorate.model.Film;
 
 /**
@@ -10,7 +12,25 @@ import ru.yandex.practicum.filmorate.model.Film;
  */
 public interface FilmReadModel {
 
-    Collection<Film> getAll();
+    default Collection<Film> getAll() {
+        return getAll(OptionalLong.empty(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a page of films ordered by identity, starting after given identity.
+     */
+    Collection<Film> getAll(OptionalLong after, int limit);
+
+    /**
+     * Passes every film ordered by identity to the action without
+     * holding the whole table in memory.
+     */
+    void streamAll(Consumer<Film> action);
+
+    /**
+     * Returns films with given identities in the same order. Unknown identities are skipped.
+     */
+    List<Film> getFilmsByIds(List<Long> ids);
 
     Collection<Film> getMostPopularFilms(int limit);
 
@@ -22,9 +42,6 @@ public interface FilmReadModel {
     }
 
 
-    Collection<Film> getRecommendationsForUser(Long userId);
-
-
     Collection<Film> getFilmsBySearch(String query);
 
     Collection<Film> getCommonFilms(Long userId, Long friendId);
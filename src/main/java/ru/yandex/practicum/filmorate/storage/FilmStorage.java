@@ -1,6 +1,9 @@
 package ru.yandex.practicum.filmorate.storage;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import ru.yandex.practicum.filmorate.model.Film;
 
 /**
@@ -12,5 +15,20 @@ public interface FilmStorage {
 
     void save(Film film);
 
+    /**
+     * Inserts new films with batched statements and assigns their identities.
+     */
+    void saveAll(List<Film> films);
+
+    /**
+     * Checks that a film exists without loading it.
+     */
+    boolean exists(long id);
+
+    /**
+     * Returns those of given identities which belong to existing films.
+     */
+    Set<Long> existingIds(Collection<Long> ids);
+
     void delete(long id);
 }
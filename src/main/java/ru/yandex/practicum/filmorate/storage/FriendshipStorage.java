@@ -1,5 +1,6 @@
 package ru.yandex.practicum.filmorate.storage;
 
+import java.util.List;
 import java.util.Optional;
 import ru.yandex.practicum.filmorate.model.Friendship;
 
@@ -10,6 +11,11 @@ public interface FriendshipStorage {
 
     void save(Friendship friendship);
 
+    /**
+     * Saves friendships with a batched statement.
+     */
+    void saveFriendships(List<Friendship> friendships);
+
     void delete(Friendship friendship);
 
     Optional<Friendship> getFriendshipMetadataByUserIds(long userId, long otherId);
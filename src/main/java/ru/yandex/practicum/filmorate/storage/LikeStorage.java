@@ -1,5 +1,8 @@
 package ru.yandex.practicum.filmorate.storage;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import ru.yandex.practicum.filmorate.model.Like;
 
@@ -10,7 +13,60 @@ public interface LikeStorage {
 
     void save(Like like);
 
-    void delete(Like like);
+    /**
+     * Saves the like unless the user already liked the film.
+     *
+     * @return whether the like was saved.
+     */
+    boolean saveIfAbsent(Like like);
+
+    /**
+     * Deletes the like if the user liked the film.
+     *
+     * @return whether the like was deleted.
+     */
+    boolean delete(Like like);
+
+    /**
+     * Saves likes which are not stored yet with a batched statement.
+     *
+     * @return number of rows saved for each like, 1 if saved and 0 if the user
+     *     already liked the film.
+     */
+    int[] saveLikes(List<Like> likes);
+
+    /**
+     * Deletes likes with a batched statement.
+     *
+     * @return number of rows deleted for each like, 1 if deleted and 0 if the like
+     *     was not stored.
+     */
+    int[] deleteLikes(List<Like> likes);
+
+    /**
+     * Returns those of given likes which are stored, reading them with a single query.
+     */
+    Collection<Like> getExistingLikes(Collection<Like> likes);
 
     Optional<Like> getLikeMetadataByUserAndFilm(long userId, long filmId);
+
+    /**
+     * Changes denormalized like counter of the film by given delta.
+     */
+    void updateLikeCount(long filmId, int delta);
+
+    /**
+     * Changes denormalized like counters of films by given deltas with a batched statement.
+     */
+    void updateLikeCounts(Map<Long, Integer> deltas);
+
+    /**
+     * Returns identities of films which like counter differs from actual number of likes.
+     */
+    Collection<Long> getFilmsWithStaleLikeCount();
+
+    /**
+     * Recalculates like counter of the film from actual likes.
+     */
+    void recountLikes(long filmId);
 }
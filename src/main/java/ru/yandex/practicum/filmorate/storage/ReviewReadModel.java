@@ -1,8 +1,17 @@
 package ru.yandex.practicum.filmorate.storage;
 
 import java.util.Collection;
+import java.util.OptionalLong;
 import ru.yandex.practicum.filmorate.model.Review;
 
 public interface ReviewReadModel {
-    Collection<Review> getReviewsByFilmId(long id, int count);
+    default Collection<Review> getReviewsByFilmId(long id, int count) {
+        return getReviewsByFilmId(id, OptionalLong.empty(), count);
+    }
+
+    /**
+     * Returns a page of reviews of the film, most useful first,
+     * starting after review with given identity.
+     */
+    Collection<Review> getReviewsByFilmId(long id, OptionalLong after, int count);
 }
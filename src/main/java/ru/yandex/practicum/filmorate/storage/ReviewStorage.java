@@ -1,6 +1,8 @@
 package ru.yandex.practicum.filmorate.storage;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import ru.yandex.practicum.filmorate.model.Review;
 
 public interface ReviewStorage {
@@ -8,5 +10,15 @@ public interface ReviewStorage {
 
     void save(Review review);
 
+    /**
+     * Checks that a review exists without loading it.
+     */
+    boolean exists(long id);
+
+    /**
+     * Returns those of given identities which belong to existing reviews.
+     */
+    Set<Long> existingIds(Collection<Long> ids);
+
     void delete(long reviewId);
 }
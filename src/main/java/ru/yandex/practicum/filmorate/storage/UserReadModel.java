@@ -1,15 +1,37 @@
 package ru.yandex.practicum.filmorate.storage;
 
 import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 import ru.yandex.practicum.filmorate.model.User;
 
 /**
  * Interface for user read model.
  */
 public interface UserReadModel {
-    Collection<User> getAll();
+    default Collection<User> getAll() {
+        return getAll(OptionalLong.empty(), Integer.MAX_VALUE);
+    }
 
-    Collection<User> getFriendsOfUser(long userId);
+    /**
+     * Returns a page of users ordered by identity, starting after given identity.
+     */
+    Collection<User> getAll(OptionalLong after, int limit);
+
+    /**
+     * Passes every user ordered by identity to the action without
+     * holding the whole table in memory.
+     */
+    void streamAll(Consumer<User> action);
+
+    default Collection<User> getFriendsOfUser(long userId) {
+        return getFriendsOfUser(userId, OptionalLong.empty(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a page of friends of user ordered by identity, starting after given identity.
+     */
+    Collection<User> getFriendsOfUser(long userId, OptionalLong after, int limit);
 
     Collection<User> getCommonFriendsOfUsers(long userId, long otherId);
 }
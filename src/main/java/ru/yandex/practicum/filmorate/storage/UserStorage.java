@@ -1,6 +1,9 @@
 package ru.yandex.practicum.filmorate.storage;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import ru.yandex.practicum.filmorate.model.User;
 
 /**
@@ -12,5 +15,20 @@ public interface UserStorage {
 
     void save(User user);
 
+    /**
+     * Inserts new users with batched statements and assigns their identities.
+     */
+    void saveAll(List<User> users);
+
+    /**
+     * Checks that a user exists without loading it.
+     */
+    boolean exists(long id);
+
+    /**
+     * Returns those of given identities which belong to existing users.
+     */
+    Set<Long> existingIds(Collection<Long> ids);
+
     void delete(long id);
 }
@@ -0,0 +1,139 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.AllArgsConstructor;
+
+/**
+ * Size bounded read-through cache evicting least recently used entries.
+ *
+ * <p>Entries may expire after a fixed time since loading, and empty results may be
+ * cached as negative entries. Loading happens outside the lock. A loaded value is
+ * kept only if no invalidation happened while it was loading, so a concurrent write
+ * never leaves a stale entry.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final boolean cacheEmpty;
+    private final LongSupplier ticker;
+    private final Map<K, Entry<V>> entries;
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache without expiration which does not cache empty results.
+     */
+    public BoundedCache(int maxSize) {
+        this(maxSize, Duration.ZERO, false);
+    }
+
+    /**
+     * Creates a cache. Zero time to live means entries never expire.
+     */
+    public BoundedCache(int maxSize, Duration ttl, boolean cacheEmpty) {
+        this(maxSize, ttl, cacheEmpty, System::nanoTime);
+    }
+
+    BoundedCache(int maxSize, Duration ttl, boolean cacheEmpty, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.cacheEmpty = cacheEmpty;
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns cached value or loads it.
+     */
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long version;
+        synchronized (this) {
+            Entry<V> cached = entries.get(key);
+            if (cached != null) {
+                if (ttlNanos <= 0 || ticker.getAsLong() - cached.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return cached.value;
+                }
+                entries.remove(key);
+            }
+            version = invalidations;
+        }
+
+        misses.increment();
+        Optional<V> loaded = loader.apply(key);
+        if (loaded.isPresent() || cacheEmpty) {
+            synchronized (this) {
+                if (version == invalidations) {
+                    entries.put(key, new Entry<>(loaded, ticker.getAsLong()));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns whether a value is known to be present or absent,
+     * empty if the key is not cached or expired. Empty results count as misses.
+     */
+    public synchronized Optional<Boolean> getPresence(K key) {
+        Entry<V> cached = entries.get(key);
+        if (cached == null
+                || ttlNanos > 0 && ticker.getAsLong() - cached.loadedAt >= ttlNanos) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached.value.isPresent());
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @AllArgsConstructor
+    private static final class Entry<V> {
+        private final Optional<V> value;
+        private final long loadedAt;
+    }
+}
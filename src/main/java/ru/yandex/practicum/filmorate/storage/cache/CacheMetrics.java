@@ -0,0 +1,47 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Reports statistics of a {@link BoundedCache} as meters tagged by cache name.
+ *
+ * <p>{@value #GETS} counts lookups by result, hit or miss, {@value #EVICTIONS} counts
+ * entries evicted by size and {@value #SIZE} reports the number of cached entries.
+ */
+public class CacheMetrics implements MeterBinder {
+
+    public static final String GETS = "filmorate.cache.gets";
+    public static final String EVICTIONS = "filmorate.cache.evictions";
+    public static final String SIZE = "filmorate.cache.size";
+
+    private final String name;
+    private final BoundedCache<?, ?> cache;
+
+    public CacheMetrics(String name, BoundedCache<?, ?> cache) {
+        this.name = name;
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(GETS, cache, BoundedCache::getHitCount)
+            .description("Lookups answered from the cache")
+            .tags("cache", name, "result", "hit")
+            .register(registry);
+        FunctionCounter.builder(GETS, cache, BoundedCache::getMissCount)
+            .description("Lookups not answered from the cache")
+            .tags("cache", name, "result", "miss")
+            .register(registry);
+        FunctionCounter.builder(EVICTIONS, cache, BoundedCache::getEvictionCount)
+            .description("Entries evicted to keep the cache within its size")
+            .tags("cache", name)
+            .register(registry);
+        Gauge.builder(SIZE, cache, BoundedCache::size)
+            .description("Entries in the cache")
+            .tags("cache", name)
+            .register(registry);
+    }
+}
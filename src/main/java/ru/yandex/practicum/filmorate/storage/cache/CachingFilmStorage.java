@@ -0,0 +1,120 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.storage.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.impl.FilmDbStorage;
+
+/**
+ * Film storage keeping recently read films in memory.
+ *
+ * <p>Writes go straight to the database and invalidate the cached film, once more
+ * after the surrounding transaction completes. Callers get copies, so changing a
+ * returned film never changes the cache.
+ */
+@Primary
+@Component
+public class CachingFilmStorage implements FilmStorage {
+
+    private final FilmStorage delegate;
+    private final BoundedCache<Long, Film> cache;
+
+    @Autowired
+    public CachingFilmStorage(FilmDbStorage delegate,
+            @Value("${filmorate.cache.films.max-size:10000}") int maxSize,
+            MeterRegistry registry) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(maxSize);
+        new CacheMetrics("films", cache).bindTo(registry);
+    }
+
+    @Override
+    public Optional<Film> getFilm(long id) {
+        return cache.get(id, delegate::getFilm).map(CachingFilmStorage::copyOf);
+    }
+
+    @Override
+    public boolean exists(long id) {
+        return cache.getPresence(id).orElseGet(() -> delegate.exists(id));
+    }
+
+    /**
+     * Probes the database only for identities which presence is not cached.
+     */
+    @Override
+    public Set<Long> existingIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long id : ids) {
+            Optional<Boolean> presence = cache.getPresence(id);
+            if (presence.isEmpty()) {
+                unknown.add(id);
+            } else if (presence.get()) {
+                existing.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            existing.addAll(delegate.existingIds(unknown));
+        }
+        return existing;
+    }
+
+    @Override
+    public void save(Film film) {
+        delegate.save(film);
+        invalidate(film.getId());
+    }
+
+    @Override
+    public void saveAll(List<Film> films) {
+        delegate.saveAll(films);
+    }
+
+    @Override
+    public void delete(long id) {
+        delegate.delete(id);
+        invalidate(id);
+    }
+
+    public BoundedCache<Long, Film> getCache() {
+        return cache;
+    }
+
+    private void invalidate(long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        cache.invalidate(id);
+                    }
+                });
+        }
+    }
+
+    private static Film copyOf(Film film) {
+        Set<Genre> genres = null;
+        if (film.getGenres() != null) {
+            genres = new HashSet<>();
+            for (Genre genre : film.getGenres()) {
+                genres.add(new Genre(genre.getId(), genre.getName()));
+            }
+        }
+        return new Film(film.getId(), film.getName(), film.getDescription(),
+            film.getReleaseDate(), film.getDuration(), film.getMpa(), genres);
+    }
+}
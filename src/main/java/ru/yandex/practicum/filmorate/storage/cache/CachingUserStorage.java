@@ -0,0 +1,120 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.UserStorage;
+import ru.yandex.practicum.filmorate.storage.impl.UserDbStorage;
+
+/**
+ * User storage keeping recently read users in memory for a limited time.
+ *
+ * <p>Missing users are cached too, so repeated lookups of unknown identities do not
+ * reach the database. Writes invalidate the entry right away and once more after the
+ * surrounding transaction completes. Callers get copies of cached users.
+ */
+@Primary
+@Component
+public class CachingUserStorage implements UserStorage {
+
+    private final UserStorage delegate;
+    private final BoundedCache<Long, User> cache;
+
+    @Autowired
+    public CachingUserStorage(UserDbStorage delegate,
+            @Value("${filmorate.cache.users.max-size:10000}") int maxSize,
+            @Value("${filmorate.cache.users.ttl-ms:60000}") long ttlMs,
+            MeterRegistry registry) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(maxSize, Duration.ofMillis(ttlMs), true);
+        new CacheMetrics("users", cache).bindTo(registry);
+    }
+
+    @Override
+    public Optional<User> getUser(long id) {
+        return cache.get(id, delegate::getUser).map(CachingUserStorage::copyOf);
+    }
+
+    @Override
+    public boolean exists(long id) {
+        return cache.getPresence(id).orElseGet(() -> delegate.exists(id));
+    }
+
+    /**
+     * Probes the database only for identities which presence is not cached.
+     */
+    @Override
+    public Set<Long> existingIds(Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long id : ids) {
+            Optional<Boolean> presence = cache.getPresence(id);
+            if (presence.isEmpty()) {
+                unknown.add(id);
+            } else if (presence.get()) {
+                existing.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            existing.addAll(delegate.existingIds(unknown));
+        }
+        return existing;
+    }
+
+    @Override
+    public void save(User user) {
+        delegate.save(user);
+        invalidate(user.getId());
+    }
+
+    /**
+     * Inserts users and drops negative entries cached for their new identities.
+     */
+    @Override
+    public void saveAll(List<User> users) {
+        delegate.saveAll(users);
+        for (User user : users) {
+            invalidate(user.getId());
+        }
+    }
+
+    @Override
+    public void delete(long id) {
+        delegate.delete(id);
+        invalidate(id);
+    }
+
+    public BoundedCache<Long, User> getCache() {
+        return cache;
+    }
+
+    private void invalidate(long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        cache.invalidate(id);
+                    }
+                });
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getEmail(), user.getLogin(), user.getName(),
+            user.getBirthday());
+    }
+}
@@ -5,6 +5,10 @@ package ru.yandex.practicum.filmorate.storage.exceptions;
  */
 public class DaoException extends RuntimeException {
 
+    public DaoException(String message) {
+        super(message);
+    }
+
     public DaoException(Throwable cause) {
         super(cause);
     }
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.storage.impl;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.yandex.practicum.filmorate.model.BackfillProgress;
+import ru.yandex.practicum.filmorate.storage.BackfillProgressStorage;
+
+/**
+ * Progress of backfills kept in the {@code backfill_progress} table.
+ *
+ * <p>Names of completed backfills are also kept in memory, since readers check them
+ * on every query. A backfill is reported completed once the transaction saving it
+ * commits.
+ */
+@Repository
+public class BackfillProgressDbStorage implements BackfillProgressStorage {
+
+    private static final String SELECT_PROGRESS =
+        "SELECT name, last_key, completed FROM backfill_progress WHERE name = ?";
+    private static final String SELECT_COMPLETED =
+        "SELECT name FROM backfill_progress WHERE completed IS TRUE";
+    private static final String UPDATE_PROGRESS =
+        "MERGE INTO backfill_progress (name, last_key, completed, updated_at) KEY (name)"
+            + " VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BackfillProgressDbStorage(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void load() {
+        completed.addAll(jdbcTemplate.queryForList(SELECT_COMPLETED, String.class));
+    }
+
+    @Override
+    public Optional<BackfillProgress> getProgress(String name) {
+        return jdbcTemplate.query(SELECT_PROGRESS, (rs, rowNum) -> new BackfillProgress(
+                rs.getString("name"), rs.getLong("last_key"), rs.getBoolean("completed")),
+            name).stream().findAny();
+    }
+
+    @Override
+    public void save(BackfillProgress progress) {
+        jdbcTemplate.update(UPDATE_PROGRESS, progress.getName(), progress.getLastKey(),
+            progress.isCompleted());
+        if (!progress.isCompleted()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        completed.add(progress.getName());
+                    }
+                });
+        } else {
+            completed.add(progress.getName());
+        }
+    }
+
+    @Override
+    public boolean isCompleted(String name) {
+        return completed.contains(name);
+    }
+}
@@ -5,14 +5,19 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
 import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.Friendship;
 import ru.yandex.practicum.filmorate.storage.EventReadModel;
 import ru.yandex.practicum.filmorate.storage.EventStorage;
 import ru.yandex.practicum.filmorate.storage.exceptions.DaoException;
@@ -29,19 +34,34 @@ public class EventDbStorage implements EventStorage, EventReadModel {
     private static final String SELECT_EVENT =
         "SELECT event_id, user_id, entity_id, occurred_on, event_type, operation"
             + " FROM events WHERE event_id = ?";
+    private static final String INSERT_FEED_OF_EVENT =
+        "INSERT INTO feed (owner_id, event_id, occurred_on)"
+            + " SELECT fr.inviter_id, e.event_id, e.occurred_on"
+            + " FROM events AS e JOIN friendship AS fr ON fr.acceptor_id = e.user_id"
+            + " WHERE e.event_id = ?"
+            + " UNION"
+            + " SELECT fr.acceptor_id, e.event_id, e.occurred_on"
+            + " FROM events AS e JOIN friendship AS fr ON fr.inviter_id = e.user_id"
+            + "     AND fr.is_confirmed IS TRUE"
+            + " WHERE e.event_id = ?";
+    private static final String MERGE_FEED_OF_AUTHOR =
+        "MERGE INTO feed (owner_id, event_id, occurred_on) KEY (owner_id, event_id)"
+            + " SELECT ?, event_id, occurred_on FROM events WHERE user_id = ?";
+    private static final String DELETE_FEED_OF_AUTHOR =
+        "DELETE FROM feed WHERE owner_id = ?"
+            + " AND event_id IN (SELECT event_id FROM events WHERE user_id = ?)";
     private static final String SELECT_EVENTS =
-        "SELECT event_id, user_id, entity_id, occurred_on, event_type, operation"
-            + " FROM events WHERE user_id IN ("
-            + "     SELECT user_id"
-            + "     FROM users AS u"
-            + "     WHERE u.user_id IN ("
-            + "         SELECT acceptor_id AS user_id FROM friendship WHERE inviter_id = ?"
-            + "         UNION"
-            + "         SELECT inviter_id AS user_id FROM friendship WHERE acceptor_id = ?"
-            + "             AND is_confirmed IS TRUE"
-            + "     )"
-            + " )"
-            + " ORDER BY occurred_on DESC";
+        "SELECT e.event_id, e.user_id, e.entity_id, e.occurred_on, e.event_type, e.operation"
+            + " FROM feed AS f"
+            + " JOIN events AS e ON e.event_id = f.event_id"
+            + " WHERE f.owner_id = ?"
+            + " %s"
+            + " ORDER BY f.occurred_on DESC, f.event_id DESC"
+            + " LIMIT ?";
+    private static final String EVENTS_AFTER_CONDITION =
+        "AND (f.occurred_on < (SELECT occurred_on FROM events WHERE event_id = ?)"
+            + " OR (f.occurred_on = (SELECT occurred_on FROM events WHERE event_id = ?)"
+            + "     AND f.event_id < ?))";
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -71,13 +91,91 @@ public class EventDbStorage implements EventStorage, EventReadModel {
                 return ps;
             }, keyHolder);
 
-            injectId(event, keyHolder.getKey().longValue());
+            long eventId = keyHolder.getKey().longValue();
+            injectId(event, eventId);
+            jdbcTemplate.update(INSERT_FEED_OF_EVENT, eventId, eventId);
+        }
+    }
+
+    @Override
+    public void saveAll(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_EVENT,
+                    new String[]{"event_id"})) {
+                for (Event event : events) {
+                    ps.setLong(1, event.getUserId());
+                    ps.setLong(2, event.getEntityId());
+                    ps.setObject(3, event.getOccurredOn());
+                    ps.setString(4, event.getEventType());
+                    ps.setString(5, event.getOperation());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> keys = new ArrayList<>(events.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+                return keys;
+            }
+        });
+
+        if (ids == null || ids.size() != events.size()) {
+            throw new DaoException("Generated keys do not match saved events");
+        }
+
+        List<Object[]> feedArgs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            injectId(events.get(i), ids.get(i));
+            feedArgs.add(new Object[]{ids.get(i), ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_FEED_OF_EVENT, feedArgs);
+    }
+
+    @Override
+    public void addToFeed(long ownerId, long authorId) {
+        jdbcTemplate.update(MERGE_FEED_OF_AUTHOR, ownerId, authorId);
+    }
+
+    @Override
+    public void addToFeeds(Collection<Friendship> friendships) {
+        List<Object[]> args = new ArrayList<>();
+        for (Friendship friendship : friendships) {
+            args.add(new Object[]{friendship.getInviterId(), friendship.getAcceptorId()});
+            if (friendship.isConfirmed()) {
+                args.add(new Object[]{friendship.getAcceptorId(), friendship.getInviterId()});
+            }
         }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_FEED_OF_AUTHOR, args);
+        }
+    }
+
+    @Override
+    public void removeFromFeed(long ownerId, long authorId) {
+        jdbcTemplate.update(DELETE_FEED_OF_AUTHOR, ownerId, authorId);
     }
 
+    /**
+     * Reads the materialized feed of the user, a single range scan over
+     * the (owner, time) index.
+     */
     @Override
-    public Collection<Event> getEventsListForUser(long userId) {
-        return jdbcTemplate.query(SELECT_EVENTS, this::mapRowToEvent, userId, userId);
+    public Collection<Event> getEventsListForUser(long userId, OptionalLong after, int limit) {
+        if (after.isPresent()) {
+            long afterId = after.getAsLong();
+            return jdbcTemplate.query(String.format(SELECT_EVENTS, EVENTS_AFTER_CONDITION),
+                this::mapRowToEvent, userId, afterId, afterId, afterId, limit);
+        }
+
+        return jdbcTemplate.query(String.format(SELECT_EVENTS, ""), this::mapRowToEvent,
+            userId, limit);
     }
 
     private void injectId(Event event, long id) {
@@ -1,21 +1,31 @@
 package ru.yandex.practicum.filmorate.storage.impl;
 
 import java.lang.reflect.Field;
+import java.sql.BatchUpdateException;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
@@ -25,6 +35,7 @@ import ru.yandex.practicum.filmorate.model.Like;
 import ru.yandex.practicum.filmorate.model.MpaRating;
 import ru.yandex.practicum.filmorate.storage.FilmReadModel;
 import ru.yandex.practicum.filmorate.storage.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.GenreStorage;
 import ru.yandex.practicum.filmorate.storage.LikeStorage;
 import ru.yandex.practicum.filmorate.storage.exceptions.DaoException;
 
@@ -34,21 +45,31 @@ import ru.yandex.practicum.filmorate.storage.exceptions.DaoException;
 @Component
 public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private static final String SELECT_FILM =
         "SELECT film_id, name, description, release_date, duration, mpa"
             + " FROM films WHERE film_id = ?";
     private static final String SELECT_FILMS =
-        "SELECT film_id, name, description, release_date, duration, mpa FROM films";
+        "SELECT film_id, name, description, release_date, duration, mpa FROM films"
+            + " WHERE film_id > ? ORDER BY film_id LIMIT ?";
+    private static final String STREAM_FILMS =
+        "SELECT film_id, name, description, release_date, duration, mpa FROM films"
+            + " ORDER BY film_id";
+    private static final String SELECT_FILMS_BY_IDS =
+        "SELECT film_id, name, description, release_date, duration, mpa FROM films"
+            + " WHERE film_id IN (%s)";
     private static final String SELECT_POPULAR_FILMS =
         "SELECT f.film_id, f.name, f.description, f.release_date,"
             + " f.duration, f.mpa"
             + " FROM films AS f"
-            + " LEFT JOIN likes AS l on f.film_id = l.film_id"
-            + " LEFT JOIN film_genre AS fg on f.film_id = fg.film_id"
             + " WHERE %s"
-            + " GROUP BY f.film_id"
-            + " ORDER BY COUNT(DISTINCT l.user_id) DESC"
+            + " ORDER BY f.like_count DESC, f.film_id"
             + " LIMIT ?";
+    private static final String GENRE_CONDITION =
+        "f.film_id IN (SELECT fg.film_id FROM film_genre AS fg WHERE fg.genre_id = ?)";
+    private static final String YEAR_CONDITION = "f.release_year = ?";
 
     private static final String SELECT_FILMS_BY_NAME_SUBSTRING =
         "SELECT film_id, name, description, "
@@ -64,35 +85,30 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
         "SELECT user_id, film_id, created_at FROM likes WHERE user_id = ? AND film_id = ?";
     public static final String UPDATE_LIKE =
         "MERGE INTO likes (user_id, film_id, created_at) KEY (user_id, film_id) VALUES (?, ?, ?)";
+    public static final String INSERT_LIKE =
+        "INSERT INTO likes (user_id, film_id, created_at) VALUES (?, ?, ?)";
     public static final String DELETE_LIKE = "DELETE FROM likes WHERE user_id = ? AND film_id = ?";
-    public static final String SELECT_GENRES =
-        "SELECT g.genre_id AS genre_id, g.name AS name FROM film_genre AS fg"
-            + " JOIN genres AS g ON fg.genre_id = g.genre_id"
+    public static final String SELECT_LIKES_OF_PAIRS =
+        "SELECT user_id, film_id, created_at FROM likes WHERE (user_id, film_id) IN (%s)";
+    public static final String UPDATE_LIKE_COUNT =
+        "UPDATE films SET like_count = like_count + ? WHERE film_id = ?";
+    public static final String SELECT_STALE_LIKE_COUNTS =
+        "SELECT f.film_id FROM films AS f"
+            + " LEFT JOIN likes AS l ON f.film_id = l.film_id"
+            + " GROUP BY f.film_id, f.like_count"
+            + " HAVING COUNT(l.user_id) <> f.like_count";
+    public static final String RECOUNT_LIKES =
+        "UPDATE films SET like_count = (SELECT COUNT(*) FROM likes WHERE film_id = ?)"
             + " WHERE film_id = ?";
-    public static final String DELETE_GENRES =
-        "DELETE FROM film_genre WHERE film_id = ?";
+    public static final String SELECT_GENRES_OF_FILMS =
+        "SELECT film_id, genre_id FROM film_genre WHERE film_id IN (%s)";
+    public static final String SELECT_GENRE_IDS_OF_FILM =
+        "SELECT genre_id FROM film_genre WHERE film_id = ?";
+    public static final String DELETE_GENRE =
+        "DELETE FROM film_genre WHERE film_id = ? AND genre_id = ?";
     public static final String INSERT_GENRE =
         "INSERT INTO film_genre (film_id, genre_id) VALUES (?, ?)";
 
-    public static final String SELECT_RECOMMENDATIONS =
-        "SELECT (name, description, release_date, duration, mpa) FROM films"
-            + " WHERE film_id IN ("
-            + "     SELECT DISTINCT l.film_id FROM likes AS l"
-            + "     WHERE l.user_id IN ("
-            + "         SELECT l.user_id FROM likes AS l"
-            + "         WHERE l.film_id IN ("
-            + "             SELECT f.film_id FROM films AS f"
-            + "             RIGHT JOIN likes AS l ON f.film_id = l.film_id"
-            + "             WHERE l.user_id = ?"
-            + "         )"
-            + "         AND l.user_id <> ?"
-            + "     )"
-            + "     AND l.film_id NOT IN ("
-            + "         SELECT l.film_id FROM likes AS l"
-            + "         WHERE l.user_id = ?"
-            + "     )"
-            + " )";
-
     public static final String SELECT_COMMON_FILMS =
             "SELECT f.film_id, name, description, release_date, duration, mpa FROM films AS f"
             +        " LEFT JOIN likes AS l ON f.film_id = l.film_id"
@@ -104,17 +120,39 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
             +        " AND user_id = ?"
             + " GROUP BY f.film_id"
             + " ORDER BY COUNT(DISTINCT user_id) DESC";
+    private static final String SELECT_FILM_ID =
+        "SELECT film_id FROM films WHERE film_id = ?";
+    private static final String SELECT_EXISTING_FILM_IDS =
+        "SELECT film_id FROM films WHERE film_id IN (%s)";
 
     private final JdbcTemplate jdbcTemplate;
+    private final GenreStorage genreStorage;
 
     @Autowired
-    public FilmDbStorage(JdbcTemplate jdbcTemplate) {
+    public FilmDbStorage(JdbcTemplate jdbcTemplate, GenreStorage genreStorage) {
         this.jdbcTemplate = jdbcTemplate;
+        this.genreStorage = genreStorage;
     }
 
     @Override
     public Optional<Film> getFilm(long id) {
-        return jdbcTemplate.query(SELECT_FILM, this::mapRowToFilm, id).stream().findAny();
+        return withGenres(jdbcTemplate.query(SELECT_FILM, this::mapRowToFilm, id))
+            .stream().findAny();
+    }
+
+    @Override
+    public boolean exists(long id) {
+        return !jdbcTemplate.queryForList(SELECT_FILM_ID, Long.class, id).isEmpty();
+    }
+
+    @Override
+    public Set<Long> existingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        String sql = String.format(SELECT_EXISTING_FILM_IDS, Sql.placeholders(ids.size()));
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, ids.toArray()));
     }
 
     @Override
@@ -134,19 +172,61 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
             }, keyHolder);
 
             injectId(film, keyHolder.getKey().longValue());
+            saveGenres(film.getId(), Set.of(), genreIdsOf(film));
         } else {
             jdbcTemplate.update(UPDATE_FILM, film.getName(), film.getDescription(),
                 Date.valueOf(film.getReleaseDate()), film.getDuration(),
                 film.getMpa().name(), film.getId());
+            saveGenres(film.getId(),
+                new HashSet<>(jdbcTemplate.queryForList(SELECT_GENRE_IDS_OF_FILM, Long.class,
+                    film.getId())),
+                genreIdsOf(film));
         }
+    }
 
-        jdbcTemplate.update(DELETE_GENRES, film.getId());
+    @Override
+    public void saveAll(List<Film> films) {
+        if (films.isEmpty()) {
+            return;
+        }
 
-        Set<Genre> genres = film.getGenres();
-        if (genres != null) {
-            for (Genre genre : genres) {
-                jdbcTemplate.update(INSERT_GENRE, film.getId(), genre.getId());
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_FILM,
+                    new String[]{"film_id"})) {
+                for (Film film : films) {
+                    ps.setString(1, film.getName());
+                    ps.setString(2, film.getDescription());
+                    ps.setDate(3, Date.valueOf(film.getReleaseDate()));
+                    ps.setLong(4, film.getDuration());
+                    ps.setString(5, film.getMpa().name());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> keys = new ArrayList<>(films.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+                return keys;
             }
+        });
+
+        if (ids == null || ids.size() != films.size()) {
+            throw new DaoException("Generated keys do not match saved films");
+        }
+
+        List<Object[]> genres = new ArrayList<>();
+        for (int i = 0; i < films.size(); i++) {
+            Film film = films.get(i);
+            injectId(film, ids.get(i));
+            for (Long genreId : genreIdsOf(film)) {
+                genres.add(new Object[]{film.getId(), genreId});
+            }
+        }
+        if (!genres.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GENRE, genres);
         }
     }
 
@@ -155,9 +235,24 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
         jdbcTemplate.update(UPDATE_LIKE, like.getUserid(), like.getFilmId(), like.getCreatedAt());
     }
 
+    /**
+     * Relies on the primary key of likes, so concurrent likes of the same film by
+     * the same user save exactly one row.
+     */
+    @Override
+    public boolean saveIfAbsent(Like like) {
+        try {
+            jdbcTemplate.update(INSERT_LIKE, like.getUserid(), like.getFilmId(),
+                like.getCreatedAt());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
     @Override
-    public void delete(Like like) {
-        jdbcTemplate.update(DELETE_LIKE, like.getUserid(), like.getFilmId());
+    public boolean delete(Like like) {
+        return jdbcTemplate.update(DELETE_LIKE, like.getUserid(), like.getFilmId()) > 0;
     }
 
     @Override
@@ -165,6 +260,66 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
         jdbcTemplate.update(DELETE_FILM, filmId);
     }
 
+    /**
+     * Inserts likes with a batched statement. Likes the batch failed to insert,
+     * such as ones already stored, are retried one by one with {@link #saveIfAbsent},
+     * so only a like this call inserted counts as saved.
+     */
+    @Override
+    public int[] saveLikes(List<Like> likes) {
+        if (likes.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] counts = jdbcTemplate.execute((ConnectionCallback<int[]>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_LIKE)) {
+                for (Like like : likes) {
+                    ps.setLong(1, like.getUserid());
+                    ps.setLong(2, like.getFilmId());
+                    ps.setObject(3, like.getCreatedAt());
+                    ps.addBatch();
+                }
+                try {
+                    return ps.executeBatch();
+                } catch (BatchUpdateException e) {
+                    return e.getUpdateCounts();
+                }
+            }
+        });
+
+        int[] saved = new int[likes.size()];
+        for (int i = 0; i < likes.size(); i++) {
+            boolean inserted = i < counts.length && counts[i] != Statement.EXECUTE_FAILED;
+            saved[i] = inserted || saveIfAbsent(likes.get(i)) ? 1 : 0;
+        }
+        return saved;
+    }
+
+    @Override
+    public int[] deleteLikes(List<Like> likes) {
+        List<Object[]> args = new ArrayList<>(likes.size());
+        for (Like like : likes) {
+            args.add(new Object[]{like.getUserid(), like.getFilmId()});
+        }
+        return jdbcTemplate.batchUpdate(DELETE_LIKE, args);
+    }
+
+    @Override
+    public Collection<Like> getExistingLikes(Collection<Like> likes) {
+        if (likes.isEmpty()) {
+            return List.of();
+        }
+
+        Object[] args = new Object[likes.size() * 2];
+        int i = 0;
+        for (Like like : likes) {
+            args[i++] = like.getUserid();
+            args[i++] = like.getFilmId();
+        }
+        String sql = String.format(SELECT_LIKES_OF_PAIRS, Sql.rowPlaceholders(likes.size(), 2));
+        return jdbcTemplate.query(sql, this::mapRowToLike, args);
+    }
+
     @Override
     public Optional<Like> getLikeMetadataByUserAndFilm(long userId, long filmId) {
         return jdbcTemplate.query(SELECT_LIKE, this::mapRowToLike, userId, filmId)
@@ -172,37 +327,102 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
     }
 
     @Override
-    public Collection<Film> getAll() {
-        return jdbcTemplate.query(SELECT_FILMS, this::mapRowToFilm);
+    public void updateLikeCount(long filmId, int delta) {
+        jdbcTemplate.update(UPDATE_LIKE_COUNT, delta, filmId);
+    }
+
+    @Override
+    public void updateLikeCounts(Map<Long, Integer> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((filmId, delta) -> args.add(new Object[]{delta, filmId}));
+        jdbcTemplate.batchUpdate(UPDATE_LIKE_COUNT, args);
+    }
+
+    @Override
+    public Collection<Long> getFilmsWithStaleLikeCount() {
+        return jdbcTemplate.queryForList(SELECT_STALE_LIKE_COUNTS, Long.class);
+    }
+
+    @Override
+    public void recountLikes(long filmId) {
+        jdbcTemplate.update(RECOUNT_LIKES, filmId, filmId);
+    }
+
+    @Override
+    public Collection<Film> getAll(OptionalLong after, int limit) {
+        return withGenres(jdbcTemplate.query(SELECT_FILMS, this::mapRowToFilm,
+            after.orElse(0), limit));
+    }
+
+    /**
+     * Reads films with a forward-only cursor. Genres are attached to chunks of
+     * {@value #STREAM_CHUNK_SIZE} films, so memory use does not depend on table size.
+     */
+    @Override
+    public void streamAll(Consumer<Film> action) {
+        List<Film> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STREAM_FILMS,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            chunk.add(mapRowToFilm(rs, rs.getRow()));
+            if (chunk.size() >= STREAM_CHUNK_SIZE) {
+                withGenres(chunk).forEach(action);
+                chunk.clear();
+            }
+        });
+        withGenres(chunk).forEach(action);
+    }
+
+    @Override
+    public List<Film> getFilmsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Film> filmsById = new HashMap<>();
+        String sql = String.format(SELECT_FILMS_BY_IDS, Sql.placeholders(ids.size()));
+        for (Film film : withGenres(jdbcTemplate.query(sql, this::mapRowToFilm, ids.toArray()))) {
+            filmsById.put(film.getId(), film);
+        }
+
+        List<Film> films = new ArrayList<>(filmsById.size());
+        for (Long id : ids) {
+            Film film = filmsById.get(id);
+            if (film != null) {
+                films.add(film);
+            }
+        }
+        return films;
     }
 
     @Override
     public Collection<Film> getMostPopularFilms(int limit) {
-        return jdbcTemplate.query(String.format(SELECT_POPULAR_FILMS, "1 = 1"),
-            this::mapRowToFilm, limit);
+        return withGenres(jdbcTemplate.query(String.format(SELECT_POPULAR_FILMS, "1 = 1"),
+            this::mapRowToFilm, limit));
     }
 
     @Override
     public Collection<Film> getMostPopularFilms(OptionalLong genreId, OptionalInt year, int limit) {
         if (genreId.isPresent() && year.isPresent()) {
             String sql = String.format(SELECT_POPULAR_FILMS,
-                "fg.genre_id = ? AND YEAR (f.release_date) = ?");
-            return jdbcTemplate.query(sql, this::mapRowToFilm,
-                genreId.getAsLong(), year.getAsInt(), limit);
+                GENRE_CONDITION + " AND " + YEAR_CONDITION);
+            return withGenres(jdbcTemplate.query(sql, this::mapRowToFilm,
+                genreId.getAsLong(), year.getAsInt(), limit));
         }
 
         if (genreId.isPresent()) {
-            String sql = String.format(SELECT_POPULAR_FILMS,
-                "fg.genre_id = ?");
-            return jdbcTemplate.query(sql, this::mapRowToFilm,
-                genreId.getAsLong(), limit);
+            String sql = String.format(SELECT_POPULAR_FILMS, GENRE_CONDITION);
+            return withGenres(jdbcTemplate.query(sql, this::mapRowToFilm,
+                genreId.getAsLong(), limit));
         }
 
         if (year.isPresent()) {
-            String sql = String.format(SELECT_POPULAR_FILMS,
-                "YEAR (f.release_date) = ?");
-            return jdbcTemplate.query(sql, this::mapRowToFilm,
-                year.getAsInt(), limit);
+            String sql = String.format(SELECT_POPULAR_FILMS, YEAR_CONDITION);
+            return withGenres(jdbcTemplate.query(sql, this::mapRowToFilm,
+                year.getAsInt(), limit));
         }
 
         return getMostPopularFilms(limit);
@@ -215,18 +435,13 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
      */
     @Override
     public Collection<Film> getFilmsBySearch(String query) {
-        return jdbcTemplate.query(SELECT_FILMS_BY_NAME_SUBSTRING, this::mapRowToFilm, "%"
-            + query.toLowerCase() + "%");
-    }
-
-    @Override
-    public Collection<Film> getRecommendationsForUser(Long userId) {
-        return jdbcTemplate.query(SELECT_RECOMMENDATIONS, this::mapRowToFilm, userId, userId,
-            userId);
+        return withGenres(jdbcTemplate.query(SELECT_FILMS_BY_NAME_SUBSTRING, this::mapRowToFilm,
+            "%" + query.toLowerCase() + "%"));
     }
 
     public Collection<Film> getCommonFilms(Long userId, Long friendId) {
-        return jdbcTemplate.query(SELECT_COMMON_FILMS, this::mapRowToFilm, userId, friendId);
+        return withGenres(jdbcTemplate.query(SELECT_COMMON_FILMS, this::mapRowToFilm,
+            userId, friendId));
     }
 
     private void injectId(Film film, long id) {
@@ -239,24 +454,79 @@ public class FilmDbStorage implements FilmStorage, LikeStorage, FilmReadModel {
         }
     }
 
-    private Film mapRowToFilm(ResultSet rs, int rowNum) throws SQLException {
-        long filmId = rs.getLong("film_id");
+    /**
+     * Writes only the difference between stored and new genres of the film,
+     * with one batch of deletes and one batch of inserts.
+     */
+    private void saveGenres(long filmId, Set<Long> stored, Set<Long> genreIds) {
+        List<Object[]> removed = new ArrayList<>();
+        for (Long genreId : stored) {
+            if (!genreIds.contains(genreId)) {
+                removed.add(new Object[]{filmId, genreId});
+            }
+        }
+        List<Object[]> added = new ArrayList<>();
+        for (Long genreId : genreIds) {
+            if (!stored.contains(genreId)) {
+                added.add(new Object[]{filmId, genreId});
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_GENRE, removed);
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GENRE, added);
+        }
+    }
+
+    private static Set<Long> genreIdsOf(Film film) {
+        Set<Long> genreIds = new HashSet<>();
+        if (film.getGenres() != null) {
+            for (Genre genre : film.getGenres()) {
+                genreIds.add(genre.getId());
+            }
+        }
+        return genreIds;
+    }
 
-        List<Genre> genres = jdbcTemplate.query(
-            SELECT_GENRES,
-            (resultSet, num) -> new Genre(
-                resultSet.getLong("genre_id"),
-                resultSet.getString("name")
-            ), filmId);
+    /**
+     * Loads genres of all given films with a single query and attaches them in memory.
+     * Genre names come from the in-memory genre dictionary.
+     */
+    private List<Film> withGenres(List<Film> films) {
+        if (films.isEmpty()) {
+            return films;
+        }
+
+        Map<Long, Film> filmsById = new HashMap<>();
+        for (Film film : films) {
+            filmsById.put(film.getId(), film);
+        }
 
+        String sql = String.format(SELECT_GENRES_OF_FILMS, Sql.placeholders(filmsById.size()));
+        jdbcTemplate.query(sql, rs -> {
+            Film film = filmsById.get(rs.getLong("film_id"));
+            if (film.getGenres() == null) {
+                film.setGenres(new HashSet<>());
+            }
+            long genreId = rs.getLong("genre_id");
+            film.getGenres().add(genreStorage.getGenre(genreId)
+                .orElseGet(() -> new Genre(genreId, null)));
+        }, filmsById.keySet().toArray());
+
+        return films;
+    }
+
+    private Film mapRowToFilm(ResultSet rs, int rowNum) throws SQLException {
         return new Film(
-            filmId,
+            rs.getLong("film_id"),
             rs.getString("name"),
             rs.getString("description"),
             rs.getDate("release_date").toLocalDate(),
             rs.getLong("duration"),
             MpaRating.valueOf(rs.getString("mpa").trim()),
-            genres.isEmpty() ? null : new HashSet<>(genres)
+            null
         );
     }
 
@@ -1,9 +1,11 @@
 package ru.yandex.practicum.filmorate.storage.impl;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -13,35 +15,64 @@ import ru.yandex.practicum.filmorate.storage.GenreStorage;
 
 /**
  * DB based implementation of genre storage.
+ *
+ * <p>Genres are a small static dictionary, so they are read once into an array indexed
+ * by identity and served from memory. The array is never modified, {@link #refresh()}
+ * replaces it as a whole.
  */
 @Component
+@Slf4j
 public class GenreDbStorage implements GenreStorage, GenreReadModel {
 
-    private static final String SELECT_GENRE =
-        "SELECT genre_id, name FROM genres WHERE genre_id = ?";
     private static final String SELECT_GENRES =
-        "SELECT genre_id, name FROM genres";
+        "SELECT genre_id, name FROM genres ORDER BY genre_id";
 
     private final JdbcTemplate jdbcTemplate;
 
+    private volatile String[] names = new String[0];
+
     @Autowired
     public GenreDbStorage(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
 
-    public Optional<Genre> getGenre(long id) {
-        return jdbcTemplate.query(SELECT_GENRE, this::mapRowToGenre, id).stream().findAny();
+    /**
+     * Reloads the dictionary from the database.
+     */
+    @PostConstruct
+    public void refresh() {
+        List<String> loaded = new ArrayList<>();
+        int[] count = {0};
+        jdbcTemplate.query(SELECT_GENRES, rs -> {
+            int id = rs.getInt("genre_id");
+            while (loaded.size() <= id) {
+                loaded.add(null);
+            }
+            loaded.set(id, rs.getString("name"));
+            count[0]++;
+        });
+        names = loaded.toArray(new String[0]);
+        log.info("Genre dictionary loaded with {} genres", count[0]);
     }
 
     @Override
-    public Collection<Genre> getAll() {
-        return jdbcTemplate.query(SELECT_GENRES, this::mapRowToGenre);
+    public Optional<Genre> getGenre(long id) {
+        String[] current = names;
+        if (id < 0 || id >= current.length || current[(int) id] == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Genre(id, current[(int) id]));
     }
 
-    private Genre mapRowToGenre(ResultSet rs, int rowNum) throws SQLException {
-        return new Genre(
-            rs.getLong("genre_id"),
-            rs.getString("name")
-        );
+    @Override
+    public Collection<Genre> getAll() {
+        String[] current = names;
+        List<Genre> genres = new ArrayList<>();
+        for (int id = 0; id < current.length; id++) {
+            if (current[id] != null) {
+                genres.add(new Genre(id, current[id]));
+            }
+        }
+        return genres;
     }
 }
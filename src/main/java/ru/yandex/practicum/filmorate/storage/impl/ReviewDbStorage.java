@@ -5,7 +5,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -13,6 +17,7 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import ru.yandex.practicum.filmorate.model.Review;
 import ru.yandex.practicum.filmorate.model.ReviewLike;
+import ru.yandex.practicum.filmorate.storage.BackfillProgressStorage;
 import ru.yandex.practicum.filmorate.storage.ReviewLikeStorage;
 import ru.yandex.practicum.filmorate.storage.ReviewReadModel;
 import ru.yandex.practicum.filmorate.storage.ReviewStorage;
@@ -51,10 +56,46 @@ public class ReviewDbStorage implements ReviewStorage, ReviewReadModel, ReviewLi
             + "           GROUP BY REVIEW_ID) AS rate ON r.review_id = rate.review_id"
             + " WHERE r.film_id = ?"
             + " GROUP BY r.review_id"
-            + " ORDER BY useful DESC"
+            + " %s"
+            + " ORDER BY useful DESC, r.review_id"
             + " LIMIT ?";
+    /**
+     * Filters aggregated ratings after the cursor. This is not a seek: HAVING
+     * applies only after every review of the film is aggregated, so later pages
+     * cost as much as aggregating the whole film.
+     */
+    private static final String REVIEWS_AFTER_CONDITION =
+        "HAVING CASE WHEN SUM(rate.rate) IS NULL THEN 0 ELSE SUM(rate.rate) END < ?"
+            + " OR (CASE WHEN SUM(rate.rate) IS NULL THEN 0 ELSE SUM(rate.rate) END = ?"
+            + "     AND r.review_id > ?)";
+    private static final String SELECT_STORED_REVIEW =
+        "SELECT review_id, user_id, film_id, is_positive, content, useful"
+            + " FROM reviews WHERE review_id = ?";
+    private static final String SELECT_STORED_REVIEWS_BY_FILM =
+        "SELECT review_id, user_id, film_id, is_positive, content, useful"
+            + " FROM reviews"
+            + " WHERE film_id = ?"
+            + " %s"
+            + " ORDER BY useful DESC, review_id"
+            + " LIMIT ?";
+    /**
+     * Seeks past the cursor on the stored rating along reviews_film_useful_idx.
+     */
+    private static final String STORED_REVIEWS_AFTER_CONDITION =
+        "AND (useful < ? OR (useful = ? AND review_id > ?))";
+
+    /**
+     * Useful rating of review {@code r}, as stored in the {@code useful} column.
+     */
+    static final String USEFUL_OF_REVIEW =
+        "(SELECT COALESCE(SUM(CASE WHEN rl.is_useful THEN 1 ELSE -1 END), 0)"
+            + " FROM review_likes AS rl WHERE rl.review_id = r.review_id)";
+    private static final String UPDATE_USEFUL =
+        "UPDATE reviews AS r SET useful = " + USEFUL_OF_REVIEW + " WHERE r.review_id = ?";
+
     private static final String INSERT_REVIEW =
-        "INSERT INTO reviews (user_id, film_id, is_positive, content) VALUES (?, ?, ?, ?)";
+        "INSERT INTO reviews (user_id, film_id, is_positive, content, useful)"
+            + " VALUES (?, ?, ?, ?, 0)";
     private static final String UPDATE_REVIEW =
         "UPDATE reviews SET user_id = ?, film_id = ?,"
             + " is_positive = ?, content = ? WHERE review_id = ?";
@@ -64,17 +105,39 @@ public class ReviewDbStorage implements ReviewStorage, ReviewReadModel, ReviewLi
                 + " VALUES (?, ?, ?)";
     private static final String DELETE_REVIEW_LIKE =
             "DELETE FROM review_likes WHERE REVIEW_ID = ? AND USER_ID = ?";
+    private static final String SELECT_REVIEW_ID =
+        "SELECT review_id FROM reviews WHERE review_id = ?";
+    private static final String SELECT_EXISTING_REVIEW_IDS =
+        "SELECT review_id FROM reviews WHERE review_id IN (%s)";
 
     private final JdbcTemplate jdbcTemplate;
+    private final BackfillProgressStorage backfills;
 
     @Autowired
-    public ReviewDbStorage(JdbcTemplate jdbcTemplate) {
+    public ReviewDbStorage(JdbcTemplate jdbcTemplate, BackfillProgressStorage backfills) {
         this.jdbcTemplate = jdbcTemplate;
+        this.backfills = backfills;
     }
 
     @Override
     public Optional<Review> getReview(long id) {
-        return jdbcTemplate.query(SELECT_REVIEW, this::mapRowToReview, id).stream().findFirst();
+        String sql = isUsefulStored() ? SELECT_STORED_REVIEW : SELECT_REVIEW;
+        return jdbcTemplate.query(sql, this::mapRowToReview, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean exists(long id) {
+        return !jdbcTemplate.queryForList(SELECT_REVIEW_ID, Long.class, id).isEmpty();
+    }
+
+    @Override
+    public Set<Long> existingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        String sql = String.format(SELECT_EXISTING_REVIEW_IDS, Sql.placeholders(ids.size()));
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, ids.toArray()));
     }
 
     @Override
@@ -103,11 +166,13 @@ public class ReviewDbStorage implements ReviewStorage, ReviewReadModel, ReviewLi
     public void save(ReviewLike reviewLike) {
         jdbcTemplate.update(UPDATE_REVIEW_LIKE, reviewLike.getReviewId(), reviewLike.getUserId(),
             reviewLike.isUseful());
+        jdbcTemplate.update(UPDATE_USEFUL, reviewLike.getReviewId());
     }
 
     @Override
     public void delete(ReviewLike reviewLike) {
         jdbcTemplate.update(DELETE_REVIEW_LIKE, reviewLike.getReviewId(), reviewLike.getUserId());
+        jdbcTemplate.update(UPDATE_USEFUL, reviewLike.getReviewId());
     }
 
     @Override
@@ -115,9 +180,40 @@ public class ReviewDbStorage implements ReviewStorage, ReviewReadModel, ReviewLi
         jdbcTemplate.update(DELETE_REVIEW, reviewId);
     }
 
+    /**
+     * Reads the rating of the cursor review first, then the page after it.
+     * Only with stored ratings is the page a real seek on (useful, review_id);
+     * while the backfill of stored ratings is in progress, the page is filtered
+     * from ratings aggregated over all reviews of the film.
+     */
     @Override
-    public Collection<Review> getReviewsByFilmId(long filmId, int count) {
-        return jdbcTemplate.query(SELECT_REVIEWS_BY_FILM, this::mapRowToReview, filmId, count);
+    public Collection<Review> getReviewsByFilmId(long filmId, OptionalLong after, int count) {
+        if (after.isPresent()) {
+            Optional<Review> last = getReview(after.getAsLong());
+            if (last.isEmpty()) {
+                return List.of();
+            }
+
+            int useful = last.get().getUseful();
+            String sql = isUsefulStored()
+                ? String.format(SELECT_STORED_REVIEWS_BY_FILM, STORED_REVIEWS_AFTER_CONDITION)
+                : String.format(SELECT_REVIEWS_BY_FILM, REVIEWS_AFTER_CONDITION);
+            return jdbcTemplate.query(sql, this::mapRowToReview,
+                filmId, useful, useful, after.getAsLong(), count);
+        }
+
+        String sql = isUsefulStored()
+            ? String.format(SELECT_STORED_REVIEWS_BY_FILM, "")
+            : String.format(SELECT_REVIEWS_BY_FILM, "");
+        return jdbcTemplate.query(sql, this::mapRowToReview, filmId, count);
+    }
+
+    /**
+     * Stored ratings are complete once existing reviews are backfilled,
+     * until then ratings are aggregated on every read.
+     */
+    private boolean isUsefulStored() {
+        return backfills.isCompleted(ReviewUsefulBackfill.NAME);
     }
 
     private void injectId(Review review, long id) {
@@ -0,0 +1,46 @@
+package ru.yandex.practicum.filmorate.storage.impl;
+
+import java.util.OptionalLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.Backfill;
+
+/**
+ * Fills stored useful ratings of reviews written before the column was introduced.
+ */
+@Component
+public class ReviewUsefulBackfill implements Backfill {
+
+    public static final String NAME = "reviews.useful";
+
+    private static final String SELECT_CHUNK_END =
+        "SELECT MAX(review_id) FROM"
+            + " (SELECT review_id FROM reviews WHERE review_id > ? ORDER BY review_id LIMIT ?)";
+    private static final String UPDATE_USEFUL_OF_CHUNK =
+        "UPDATE reviews AS r SET useful = " + ReviewDbStorage.USEFUL_OF_REVIEW
+            + " WHERE r.review_id > ? AND r.review_id <= ? AND r.useful IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ReviewUsefulBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public OptionalLong fillAfter(long after, int limit) {
+        Long end = jdbcTemplate.queryForObject(SELECT_CHUNK_END, Long.class, after, limit);
+        if (end == null) {
+            return OptionalLong.empty();
+        }
+
+        jdbcTemplate.update(UPDATE_USEFUL_OF_CHUNK, after, end);
+        return OptionalLong.of(end);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.yandex.practicum.filmorate.storage.impl;
+
+import java.util.Collections;
+
+/**
+ * Helpers for building SQL statements.
+ */
+final class Sql {
+
+    private Sql() {
+    }
+
+    /**
+     * Returns a list of {@code count} bind placeholders for an IN condition.
+     */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Returns a list of {@code count} row values of {@code width} bind placeholders
+     * for a row value IN condition.
+     */
+    static String rowPlaceholders(int count, int width) {
+        return String.join(", ", Collections.nCopies(count, "(" + placeholders(width) + ")"));
+    }
+}
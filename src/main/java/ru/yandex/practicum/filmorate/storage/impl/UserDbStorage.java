@@ -5,10 +5,18 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
@@ -25,10 +33,15 @@ import ru.yandex.practicum.filmorate.storage.exceptions.DaoException;
 @Repository
 public class UserDbStorage implements UserStorage, FriendshipStorage, UserReadModel {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private static final String SELECT_USER =
         "SELECT user_id, email, login, name, birthday FROM users WHERE user_id = ?";
     private static final String SELECT_USERS =
-        "SELECT user_id, email, login, name, birthday FROM users";
+        "SELECT user_id, email, login, name, birthday FROM users"
+            + " WHERE user_id > ? ORDER BY user_id LIMIT ?";
+    private static final String STREAM_USERS =
+        "SELECT user_id, email, login, name, birthday FROM users ORDER BY user_id";
     private static final String INSERT_USER =
         "INSERT INTO users (email, login, name, birthday) VALUES (?, ?, ?, ?)";
     private static final String UPDATE_USER =
@@ -52,7 +65,10 @@ public class UserDbStorage implements UserStorage, FriendshipStorage, UserReadMo
         + "   UNION"
         + "   SELECT inviter_id AS user_id FROM friendship WHERE acceptor_id = ?"
         + "      AND is_confirmed IS TRUE"
-        + " )";
+        + " )"
+        + " AND u.user_id > ?"
+        + " ORDER BY u.user_id"
+        + " LIMIT ?";
     private static final String SELECT_COMMON_FRIENDS =
         "SELECT user_id, email, login, name, birthday"
             + " FROM users AS u"
@@ -68,6 +84,10 @@ public class UserDbStorage implements UserStorage, FriendshipStorage, UserReadMo
             + "   SELECT inviter_id AS user_id FROM friendship WHERE acceptor_id = ?"
             + "      AND is_confirmed IS TRUE"
             + " )";
+    private static final String SELECT_USER_ID =
+        "SELECT user_id FROM users WHERE user_id = ?";
+    private static final String SELECT_EXISTING_USER_IDS =
+        "SELECT user_id FROM users WHERE user_id IN (%s)";
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -81,6 +101,21 @@ public class UserDbStorage implements UserStorage, FriendshipStorage, UserReadMo
         return jdbcTemplate.query(SELECT_USER, this::mapRowToUser, id).stream().findAny();
     }
 
+    @Override
+    public boolean exists(long id) {
+        return !jdbcTemplate.queryForList(SELECT_USER_ID, Long.class, id).isEmpty();
+    }
+
+    @Override
+    public Set<Long> existingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        String sql = String.format(SELECT_EXISTING_USER_IDS, Sql.placeholders(ids.size()));
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, ids.toArray()));
+    }
+
     @Override
     public void save(User user) {
         if (user.getId() == null) {
@@ -103,12 +138,58 @@ public class UserDbStorage implements UserStorage, FriendshipStorage, UserReadMo
         }
     }
 
+    @Override
+    public void saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_USER,
+                    new String[]{"user_id"})) {
+                for (User user : users) {
+                    ps.setString(1, user.getEmail());
+                    ps.setString(2, user.getLogin());
+                    ps.setString(3, user.getName());
+                    ps.setDate(4, Date.valueOf(user.getBirthday()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> keys = new ArrayList<>(users.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+                return keys;
+            }
+        });
+
+        if (ids == null || ids.size() != users.size()) {
+            throw new DaoException("Generated keys do not match saved users");
+        }
+        for (int i = 0; i < users.size(); i++) {
+            injectId(users.get(i), ids.get(i));
+        }
+    }
+
     @Override
     public void save(Friendship friendship) {
         jdbcTemplate.update(UPDATE_FRIENDSHIP, friendship.getInviterId(),
             friendship.getAcceptorId(), friendship.isConfirmed());
     }
 
+    @Override
+    public void saveFriendships(List<Friendship> friendships) {
+        List<Object[]> args = new ArrayList<>(friendships.size());
+        for (Friendship friendship : friendships) {
+            args.add(new Object[]{friendship.getInviterId(), friendship.getAcceptorId(),
+                friendship.isConfirmed()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_FRIENDSHIP, args);
+    }
+
     @Override
     public void delete(Friendship friendship) {
         jdbcTemplate.update(DELETE_FRIENDSHIP, friendship.getInviterId(),
@@ -127,13 +208,24 @@ public class UserDbStorage implements UserStorage, FriendshipStorage, UserReadMo
     }
 
     @Override
-    public Collection<User> getAll() {
-        return jdbcTemplate.query(SELECT_USERS, this::mapRowToUser);
+    public Collection<User> getAll(OptionalLong after, int limit) {
+        return jdbcTemplate.query(SELECT_USERS, this::mapRowToUser, after.orElse(0), limit);
+    }
+
+    @Override
+    public void streamAll(Consumer<User> action) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STREAM_USERS,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(mapRowToUser(rs, rs.getRow())));
     }
 
     @Override
-    public Collection<User> getFriendsOfUser(long userId) {
-        return jdbcTemplate.query(SELECT_FRIENDS, this::mapRowToUser, userId, userId);
+    public Collection<User> getFriendsOfUser(long userId, OptionalLong after, int limit) {
+        return jdbcTemplate.query(SELECT_FRIENDS, this::mapRowToUser, userId, userId,
+            after.orElse(0), limit);
     }
 
     @Override
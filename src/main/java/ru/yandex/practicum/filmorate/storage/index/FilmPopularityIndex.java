@@ -0,0 +1,249 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+
+/**
+ * In-memory index of films ordered by number of likes.
+ *
+ * <p>Rankings are partitioned by genre and by release year, so filtered top-N queries
+ * only walk the relevant partition. The index is loaded from the database on startup
+ * and then kept current by domain events.
+ */
+@Component
+@Slf4j
+public class FilmPopularityIndex {
+
+    private static final String SELECT_LIKE_COUNTS =
+        "SELECT film_id, YEAR(release_date) AS release_year, like_count AS likes FROM films";
+    private static final String SELECT_FILM_GENRES =
+        "SELECT film_id, genre_id FROM film_genre";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableSet<Rank> ranking = new TreeSet<>();
+    private final Map<Long, NavigableSet<Rank>> rankingByGenre = new HashMap<>();
+    private final Map<Integer, NavigableSet<Rank>> rankingByYear = new HashMap<>();
+
+    @Autowired
+    public FilmPopularityIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rebuilds the whole index from the database.
+     */
+    @PostConstruct
+    public void load() {
+        Map<Long, Entry> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_LIKE_COUNTS, rs -> {
+            long filmId = rs.getLong("film_id");
+            loaded.put(filmId, new Entry(filmId, rs.getInt("release_year"),
+                new HashSet<>(), rs.getLong("likes")));
+        });
+        jdbcTemplate.query(SELECT_FILM_GENRES, rs -> {
+            Entry entry = loaded.get(rs.getLong("film_id"));
+            if (entry != null) {
+                entry.genres.add(rs.getLong("genre_id"));
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            ranking.clear();
+            rankingByGenre.clear();
+            rankingByYear.clear();
+            loaded.values().forEach(this::link);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Popularity index loaded with {} films", loaded.size());
+    }
+
+    /**
+     * Adds a film to the index or refreshes its genres and release year.
+     * Number of likes of an already indexed film is preserved.
+     */
+    public void put(Film film) {
+        Set<Long> genres = new HashSet<>();
+        if (film.getGenres() != null) {
+            for (Genre genre : film.getGenres()) {
+                genres.add(genre.getId());
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Entry existed = entries.get(film.getId());
+            long likes = 0;
+            if (existed != null) {
+                likes = existed.likes;
+                unlink(existed);
+            }
+            link(new Entry(film.getId(), film.getReleaseDate().getYear(), genres, likes));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long filmId) {
+        lock.writeLock().lock();
+        try {
+            Entry existed = entries.get(filmId);
+            if (existed != null) {
+                unlink(existed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes number of likes of the film by given delta.
+     */
+    public void addLikes(long filmId, long delta) {
+        lock.writeLock().lock();
+        try {
+            Entry existed = entries.get(filmId);
+            if (existed == null) {
+                log.warn("Film {} is missing in popularity index", filmId);
+                return;
+            }
+            unlink(existed);
+            link(new Entry(filmId, existed.year, existed.genres,
+                Math.max(0, existed.likes + delta)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns number of likes of the film, zero for films missing in the index.
+     */
+    public long getLikes(long filmId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(filmId);
+            return entry != null ? entry.likes : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns identities of most liked films, optionally filtered by genre and year.
+     */
+    public List<Long> getMostPopularFilmIds(OptionalLong genreId, OptionalInt year, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Rank> partition = ranking;
+            if (genreId.isPresent()) {
+                partition = rankingByGenre.getOrDefault(genreId.getAsLong(),
+                    Collections.emptyNavigableSet());
+            }
+            if (year.isPresent()) {
+                NavigableSet<Rank> byYear = rankingByYear.getOrDefault(year.getAsInt(),
+                    Collections.emptyNavigableSet());
+                if (!genreId.isPresent() || byYear.size() < partition.size()) {
+                    partition = byYear;
+                }
+            }
+
+            List<Long> result = new ArrayList<>(Math.min(limit, partition.size()));
+            for (Rank rank : partition) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                Entry entry = entries.get(rank.filmId);
+                if (genreId.isPresent() && !entry.genres.contains(genreId.getAsLong())) {
+                    continue;
+                }
+                if (year.isPresent() && entry.year != year.getAsInt()) {
+                    continue;
+                }
+                result.add(rank.filmId);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void link(Entry entry) {
+        Rank rank = entry.rank();
+        entries.put(entry.filmId, entry);
+        ranking.add(rank);
+        rankingByYear.computeIfAbsent(entry.year, y -> new TreeSet<>()).add(rank);
+        for (Long genreId : entry.genres) {
+            rankingByGenre.computeIfAbsent(genreId, g -> new TreeSet<>()).add(rank);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        Rank rank = entry.rank();
+        entries.remove(entry.filmId);
+        ranking.remove(rank);
+        NavigableSet<Rank> byYear = rankingByYear.get(entry.year);
+        if (byYear != null) {
+            byYear.remove(rank);
+        }
+        for (Long genreId : entry.genres) {
+            NavigableSet<Rank> byGenre = rankingByGenre.get(genreId);
+            if (byGenre != null) {
+                byGenre.remove(rank);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final long filmId;
+        private final int year;
+        private final Set<Long> genres;
+        private final long likes;
+
+        private Rank rank() {
+            return new Rank(filmId, likes);
+        }
+    }
+
+    /**
+     * Position of a film in ranking: more likes first, then lower identity first.
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class Rank implements Comparable<Rank> {
+        private final long filmId;
+        private final long likes;
+
+        @Override
+        public int compareTo(Rank other) {
+            int byLikes = Long.compare(other.likes, likes);
+            return byLikes != 0 ? byLikes : Long.compare(filmId, other.filmId);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Film;
+
+/**
+ * In-memory full-text index over film titles and descriptions.
+ *
+ * <p>Texts are folded to lower case and split into character trigrams. A query matches
+ * a field if the field contains the query as a substring: candidates are found by
+ * intersecting postings of query trigrams and then verified against the text.
+ */
+@Component
+@Slf4j
+public class FilmSearchIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private static final String SELECT_TEXTS = "SELECT film_id, name, description FROM films";
+
+    /**
+     * Searchable fields of a film with their weights in ranking.
+     */
+    public enum Field {
+        TITLE(2.0),
+        DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Film matched by a query with its relevance score.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Hit {
+        private final long filmId;
+        private final double score;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Map<Field, String>> documents = new HashMap<>();
+    private final Map<Field, Map<String, Set<Long>>> postings = new EnumMap<>(Field.class);
+
+    @Autowired
+    public FilmSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the database.
+     */
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.values().forEach(Map::clear);
+            jdbcTemplate.query(SELECT_TEXTS, rs -> {
+                link(rs.getLong("film_id"), rs.getString("name"), rs.getString("description"));
+            });
+            log.info("Search index loaded with {} films", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Film film) {
+        lock.writeLock().lock();
+        try {
+            unlink(film.getId());
+            link(film.getId(), film.getName(), film.getDescription());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long filmId) {
+        lock.writeLock().lock();
+        try {
+            unlink(filmId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns films which given fields contain the query, most relevant first.
+     */
+    public List<Hit> search(String query, Set<Field> fields, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Field field : fields) {
+                for (Long filmId : candidates(field, normalized)) {
+                    String text = documents.get(filmId).get(field);
+                    double score = score(text, normalized);
+                    if (score > 0) {
+                        scores.merge(filmId, score * field.weight, Double::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((filmId, score) -> hits.add(new Hit(filmId, score)));
+        hits.sort(Comparator.comparingDouble(Hit::getScore).reversed()
+            .thenComparingLong(Hit::getFilmId));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Intersects postings of query trigrams, starting from the smallest one so the
+     * intersection never grows beyond it.
+     */
+    private Set<Long> candidates(Field field, String query) {
+        if (query.length() < GRAM_SIZE) {
+            return documents.keySet();
+        }
+
+        Map<String, Set<Long>> fieldPostings = postings.get(field);
+        List<Set<Long>> queryPostings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> posting = fieldPostings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            queryPostings.add(posting);
+        }
+        queryPostings.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>();
+        for (Long filmId : queryPostings.get(0)) {
+            if (queryPostings.stream().skip(1).allMatch(posting -> posting.contains(filmId))) {
+                candidates.add(filmId);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Scores a single field: whole text match ranks above a word prefix match,
+     * which ranks above a match in the middle of a word.
+     */
+    private static double score(String text, String query) {
+        int position = text.indexOf(query);
+        if (position < 0) {
+            return 0;
+        }
+        if (text.equals(query)) {
+            return 3;
+        }
+        while (position >= 0) {
+            if (position == 0 || !Character.isLetterOrDigit(text.charAt(position - 1))) {
+                return 2;
+            }
+            position = text.indexOf(query, position + 1);
+        }
+        return 1;
+    }
+
+    private void link(long filmId, String name, String description) {
+        Map<Field, String> document = new EnumMap<>(Field.class);
+        document.put(Field.TITLE, normalize(name));
+        document.put(Field.DESCRIPTION, normalize(description));
+        documents.put(filmId, document);
+
+        document.forEach((field, text) -> {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : grams(text)) {
+                fieldPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(filmId);
+            }
+        });
+    }
+
+    private void unlink(long filmId) {
+        Map<Field, String> document = documents.remove(filmId);
+        if (document == null) {
+            return;
+        }
+
+        document.forEach((field, text) -> {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : grams(text)) {
+                Set<Long> posting = fieldPostings.get(gram);
+                if (posting != null) {
+                    posting.remove(filmId);
+                    if (posting.isEmpty()) {
+                        fieldPostings.remove(gram);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
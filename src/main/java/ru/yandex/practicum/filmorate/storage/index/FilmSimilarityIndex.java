@@ -0,0 +1,136 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputed lists of films most often liked together with a film.
+ *
+ * <p>Similarity of two films is cosine similarity of their like vectors. Changes of likes
+ * mark affected films as stale: the liked film, the other films of the user and every
+ * film co-liked with the liked film. Stale lists are recomputed by a background job or
+ * on the first read, whichever comes first.
+ */
+@Component
+@Slf4j
+public class FilmSimilarityIndex {
+
+    private final LikeMatrix likeMatrix;
+    private final int neighbours;
+
+    private final Map<Long, long[]> similarFilms = new ConcurrentHashMap<>();
+    private final Set<Long> staleFilms = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public FilmSimilarityIndex(LikeMatrix likeMatrix,
+            @Value("${filmorate.similar-films.neighbours:20}") int neighbours) {
+        this.likeMatrix = likeMatrix;
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Schedules computation of lists for every liked film.
+     */
+    @PostConstruct
+    public void init() {
+        similarFilms.clear();
+        staleFilms.addAll(likeMatrix.getLikedFilms());
+    }
+
+    /**
+     * Returns identities of films similar to the given one, most similar first.
+     */
+    public List<Long> getSimilarFilmIds(long filmId, int limit) {
+        long[] similar = similarFilms.get(filmId);
+        if (similar == null || staleFilms.remove(filmId)) {
+            similar = compute(filmId);
+        }
+
+        List<Long> result = new ArrayList<>(Math.min(limit, similar.length));
+        for (int i = 0; i < similar.length && i < limit; i++) {
+            result.add(similar[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Marks lists affected by a like or unlike of the film by the user as stale.
+     * Besides the films of the user, whose common likes with the film changed,
+     * every film co-liked with the film is affected, since the number of likes of
+     * the film is part of its similarity to each of them.
+     */
+    public void onLikeChanged(long userId, long filmId) {
+        staleFilms.add(filmId);
+        for (long otherFilmId : likeMatrix.getFilmsLikedBy(userId)) {
+            staleFilms.add(otherFilmId);
+        }
+        for (long otherUserId : likeMatrix.getUsersWhoLiked(filmId)) {
+            for (long otherFilmId : likeMatrix.getFilmsLikedBy(otherUserId)) {
+                staleFilms.add(otherFilmId);
+            }
+        }
+    }
+
+    public void remove(long filmId) {
+        similarFilms.remove(filmId);
+        staleFilms.remove(filmId);
+    }
+
+    /**
+     * Recomputes stale lists in background.
+     */
+    @Scheduled(fixedDelayString = "${filmorate.similar-films.refresh-delay-ms:10000}")
+    public void refreshStale() {
+        int refreshed = 0;
+        Iterator<Long> iterator = staleFilms.iterator();
+        while (iterator.hasNext()) {
+            Long filmId = iterator.next();
+            iterator.remove();
+            compute(filmId);
+            refreshed++;
+        }
+
+        if (refreshed > 0) {
+            log.debug("Refreshed similar films of {} films", refreshed);
+        }
+    }
+
+    private long[] compute(long filmId) {
+        long[] users = likeMatrix.getUsersWhoLiked(filmId);
+        Map<Long, Integer> coLikes = new HashMap<>();
+        for (long userId : users) {
+            for (long otherFilmId : likeMatrix.getFilmsLikedBy(userId)) {
+                if (otherFilmId != filmId) {
+                    coLikes.merge(otherFilmId, 1, Integer::sum);
+                }
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>(coLikes.size() * 2);
+        coLikes.forEach((otherFilmId, count) -> scores.put(otherFilmId,
+            count / Math.sqrt((double) users.length
+                * likeMatrix.getUsersWhoLiked(otherFilmId).length)));
+
+        long[] similar = scores.keySet().stream()
+            .sorted(Comparator.comparing((Long id) -> scores.get(id)).reversed()
+                .thenComparing(Comparator.naturalOrder()))
+            .limit(neighbours)
+            .mapToLong(Long::longValue)
+            .toArray();
+
+        similarFilms.put(filmId, similar);
+        return similar;
+    }
+}
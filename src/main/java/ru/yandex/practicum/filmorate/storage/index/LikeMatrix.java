@@ -0,0 +1,212 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sparse user by film matrix of likes held in memory.
+ *
+ * <p>Every row and column is a sorted array of identities, so set operations
+ * like intersection are linear merges over primitive arrays. Returned arrays
+ * are never modified in place and can be read without holding a lock.
+ */
+@Component
+@Slf4j
+public class LikeMatrix {
+
+    private static final long[] EMPTY = new long[0];
+
+    private static final String SELECT_LIKES =
+        "SELECT user_id, film_id FROM likes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, long[]> filmsByUser = new HashMap<>();
+    private final Map<Long, long[]> usersByFilm = new HashMap<>();
+
+    @Autowired
+    public LikeMatrix(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rebuilds the whole matrix from the database.
+     */
+    @PostConstruct
+    public void load() {
+        Map<Long, List<Long>> filmLists = new HashMap<>();
+        Map<Long, List<Long>> userLists = new HashMap<>();
+        jdbcTemplate.query(SELECT_LIKES, rs -> {
+            long userId = rs.getLong("user_id");
+            long filmId = rs.getLong("film_id");
+            filmLists.computeIfAbsent(userId, id -> new ArrayList<>()).add(filmId);
+            userLists.computeIfAbsent(filmId, id -> new ArrayList<>()).add(userId);
+        });
+        Map<Long, long[]> byUser = toSortedArrays(filmLists);
+        Map<Long, long[]> byFilm = toSortedArrays(userLists);
+
+        lock.writeLock().lock();
+        try {
+            filmsByUser.clear();
+            filmsByUser.putAll(byUser);
+            usersByFilm.clear();
+            usersByFilm.putAll(byFilm);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Like matrix loaded with {} users and {} films", byUser.size(), byFilm.size());
+    }
+
+    public void addLike(long userId, long filmId) {
+        lock.writeLock().lock();
+        try {
+            filmsByUser.put(userId, insert(filmsByUser.getOrDefault(userId, EMPTY), filmId));
+            usersByFilm.put(filmId, insert(usersByFilm.getOrDefault(filmId, EMPTY), userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeLike(long userId, long filmId) {
+        lock.writeLock().lock();
+        try {
+            update(filmsByUser, userId, remove(filmsByUser.getOrDefault(userId, EMPTY), filmId));
+            update(usersByFilm, filmId, remove(usersByFilm.getOrDefault(filmId, EMPTY), userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the film column together with all its likes.
+     */
+    public void removeFilm(long filmId) {
+        lock.writeLock().lock();
+        try {
+            long[] users = usersByFilm.remove(filmId);
+            if (users != null) {
+                for (long userId : users) {
+                    update(filmsByUser, userId,
+                        remove(filmsByUser.getOrDefault(userId, EMPTY), filmId));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns sorted identities of films liked by the user.
+     */
+    public long[] getFilmsLikedBy(long userId) {
+        lock.readLock().lock();
+        try {
+            return filmsByUser.getOrDefault(userId, EMPTY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns sorted identities of users who liked the film.
+     */
+    public long[] getUsersWhoLiked(long filmId) {
+        lock.readLock().lock();
+        try {
+            return usersByFilm.getOrDefault(filmId, EMPTY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns identities of all films having at least one like.
+     */
+    public Set<Long> getLikedFilms() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(usersByFilm.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns size of intersection of two sorted arrays.
+     */
+    public static int intersectionSize(long[] first, long[] second) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static Map<Long, long[]> toSortedArrays(Map<Long, List<Long>> lists) {
+        Map<Long, long[]> result = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, values) -> {
+            long[] array = values.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(array);
+            result.put(key, array);
+        });
+        return result;
+    }
+
+    private static void update(Map<Long, long[]> index, long key, long[] values) {
+        if (values.length == 0) {
+            index.remove(key);
+        } else {
+            index.put(key, values);
+        }
+    }
+
+    private static long[] insert(long[] values, long value) {
+        int position = Arrays.binarySearch(values, value);
+        if (position >= 0) {
+            return values;
+        }
+
+        int insertion = -position - 1;
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, insertion);
+        result[insertion] = value;
+        System.arraycopy(values, insertion, result, insertion + 1, values.length - insertion);
+        return result;
+    }
+
+    private static long[] remove(long[] values, long value) {
+        int position = Arrays.binarySearch(values, value);
+        if (position < 0) {
+            return values;
+        }
+
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,256 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source reporting every executed statement to listeners.
+ *
+ * <p>Connections, statements and result sets are wrapped in proxies. The duration
+ * covers the execute call only, so mapping rows in the caller is not counted. Rows
+ * of a query are counted while the result set is read and reported when it or its
+ * statement is closed.
+ */
+@Slf4j
+public class ObservedDataSource extends DelegatingDataSource {
+
+    private final QueryNames names;
+    private final Supplier<List<QueryListener>> listenerSupplier;
+    private volatile List<QueryListener> listeners;
+
+    /**
+     * Creates a data source. Listeners are looked up on the first statement, so they
+     * may depend on beans which need this data source themselves.
+     */
+    public ObservedDataSource(DataSource target, QueryNames names,
+            Supplier<List<QueryListener>> listeners) {
+        super(target);
+        this.names = names;
+        this.listenerSupplier = listeners;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<?> type = method.getReturnType();
+                return proxy(type, result, new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        });
+    }
+
+    private void report(QueryExecution execution) {
+        List<QueryListener> current = listeners;
+        if (current == null) {
+            current = List.copyOf(listenerSupplier.get());
+            listeners = current;
+        }
+        for (QueryListener listener : current) {
+            try {
+                listener.onQuery(execution);
+            } catch (RuntimeException e) {
+                log.warn("Query listener {} failed", listener, e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(ObservedDataSource.class.getClassLoader(),
+            new Class<?>[] {type}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return args.length == 1 && proxy == args[0];
+                    case "hashCode":
+                        if (method.getParameterCount() == 0) {
+                            return System.identityHashCode(proxy);
+                        }
+                        break;
+                    case "toString":
+                        if (method.getParameterCount() == 0) {
+                            return target.toString();
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                return handler.invoke(proxy, method, args);
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final List<Object> parameters = new ArrayList<>();
+        private PendingQuery pending;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if (methodName.startsWith("set") && args != null && args.length >= 2
+                    && method.getParameterTypes()[0] == int.class) {
+                bind((Integer) args[0], "setNull".equals(methodName) ? null : args[1]);
+            } else if ("getResultSet".equals(methodName) && pending != null) {
+                ResultSet resultSet = (ResultSet) ObservedDataSource.invoke(statement, method, args);
+                return resultSet == null ? null : wrapResultSet(resultSet, pending);
+            } else if ("clearParameters".equals(methodName)) {
+                parameters.clear();
+            } else if ("close".equals(methodName)) {
+                finishPending();
+            }
+            if (!methodName.startsWith("execute")) {
+                return ObservedDataSource.invoke(statement, method, args);
+            }
+
+            finishPending();
+            String sql = args != null && args.length > 0 && args[0] instanceof String
+                ? (String) args[0] : preparedSql;
+            QueryNames.QueryName name = names.resolve(sql);
+            List<Object> bound = parameters.isEmpty()
+                ? Collections.emptyList() : new ArrayList<>(parameters);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = ObservedDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                report(new QueryExecution(name, sql, bound, System.nanoTime() - start, 0, true));
+                throw e;
+            }
+            long duration = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                pending = new PendingQuery(name, sql, bound, duration);
+                return wrapResultSet((ResultSet) result, pending);
+            }
+            if (result instanceof int[]) {
+                report(new QueryExecution(name, sql, bound, duration, sum((int[]) result), false));
+            } else if (result instanceof long[]) {
+                report(new QueryExecution(name, sql, bound, duration, sum((long[]) result), false));
+            } else if (result instanceof Number) {
+                report(new QueryExecution(name, sql, bound, duration,
+                    Math.max(((Number) result).longValue(), 0), false));
+            } else if (Boolean.TRUE.equals(result)) {
+                pending = new PendingQuery(name, sql, bound, duration);
+            } else {
+                report(new QueryExecution(name, sql, bound, duration,
+                    Math.max(statement.getUpdateCount(), 0), false));
+            }
+            return result;
+        }
+
+        private Object wrapResultSet(ResultSet resultSet, PendingQuery query) {
+            return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+                String methodName = method.getName();
+                if ("close".equals(methodName)) {
+                    try {
+                        return ObservedDataSource.invoke(resultSet, method, args);
+                    } finally {
+                        finish(query);
+                    }
+                }
+                Object result = ObservedDataSource.invoke(resultSet, method, args);
+                if ("next".equals(methodName) && Boolean.TRUE.equals(result)) {
+                    query.rows++;
+                }
+                return result;
+            });
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                finish(pending);
+            }
+        }
+
+        private void finish(PendingQuery query) {
+            if (query.reported) {
+                return;
+            }
+            query.reported = true;
+            if (pending == query) {
+                pending = null;
+            }
+            report(new QueryExecution(query.name, query.sql, query.parameters,
+                query.durationNanos, query.rows, false));
+        }
+    }
+
+    private static long sum(int[] counts) {
+        long rows = 0;
+        for (int count : counts) {
+            rows += Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    private static long sum(long[] counts) {
+        long rows = 0;
+        for (long count : counts) {
+            rows += Math.max(count, 0);
+        }
+        return rows;
+    }
+
+    private static class PendingQuery {
+        private final QueryNames.QueryName name;
+        private final String sql;
+        private final List<Object> parameters;
+        private final long durationNanos;
+        private long rows;
+        private boolean reported;
+
+        PendingQuery(QueryNames.QueryName name, String sql, List<Object> parameters,
+                long durationNanos) {
+            this.name = name;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
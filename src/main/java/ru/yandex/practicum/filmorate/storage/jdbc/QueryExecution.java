@@ -0,0 +1,25 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryNames.QueryName;
+
+/**
+ * A finished statement execution.
+ *
+ * <p>Rows are the rows read from the result set or the rows changed by an update.
+ * Parameters are the values bound by position, for a batch those of its last row.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class QueryExecution {
+    private final QueryName name;
+    private final String sql;
+    private final List<Object> parameters;
+    private final long durationNanos;
+    private final long rows;
+    private final boolean failed;
+}
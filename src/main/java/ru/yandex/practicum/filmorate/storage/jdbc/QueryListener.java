@@ -0,0 +1,12 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+/**
+ * Receives every statement executed through an {@link ObservedDataSource}.
+ *
+ * <p>Called on the executing thread, so implementations must be cheap and must
+ * not throw.
+ */
+public interface QueryListener {
+
+    void onQuery(QueryExecution execution);
+}
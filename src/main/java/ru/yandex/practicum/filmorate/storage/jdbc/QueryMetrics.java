@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryNames.QueryName;
+
+/**
+ * Records statement executions as meters tagged by repository and query name.
+ *
+ * <p>{@value #TIMER} times executions, {@value #ERRORS} counts failed ones and
+ * {@value #ROWS} summarises rows read or changed.
+ */
+public class QueryMetrics implements QueryListener {
+
+    public static final String TIMER = "filmorate.db.query";
+    public static final String ERRORS = "filmorate.db.query.errors";
+    public static final String ROWS = "filmorate.db.query.rows";
+
+    private final MeterRegistry registry;
+    private final Map<QueryName, Meters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onQuery(QueryExecution execution) {
+        Meters queryMeters = meters.computeIfAbsent(execution.getName(), this::register);
+        queryMeters.timer.record(execution.getDurationNanos(), TimeUnit.NANOSECONDS);
+        if (execution.isFailed()) {
+            queryMeters.errors.increment();
+        } else {
+            queryMeters.rows.record(execution.getRows());
+        }
+    }
+
+    private Meters register(QueryName name) {
+        String[] tags = {"repository", name.getRepository(), "query", name.getQuery()};
+        return new Meters(
+            Timer.builder(TIMER)
+                .description("Time spent executing a statement")
+                .tags(tags)
+                .register(registry),
+            Counter.builder(ERRORS)
+                .description("Statements failed with an exception")
+                .tags(tags)
+                .register(registry),
+            DistributionSummary.builder(ROWS)
+                .description("Rows read or changed by a statement")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(registry));
+    }
+
+    private static class Meters {
+        private final Timer timer;
+        private final Counter errors;
+        private final DistributionSummary rows;
+
+        Meters(Timer timer, Counter errors, DistributionSummary rows) {
+            this.timer = timer;
+            this.errors = errors;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Resolves executed SQL back to the name of the constant it was built from.
+ *
+ * <p>Statements are collected from the static string constants of the given
+ * repository classes. Plain statements are matched exactly, templates with
+ * {@code %s} parts are matched by pattern, longest template first. Whitespace and
+ * case are ignored. Resolved statements are remembered until there are too many
+ * distinct ones.
+ */
+public class QueryNames {
+
+    public static final QueryName UNKNOWN = new QueryName("other", "other");
+
+    private static final Pattern STATEMENT =
+        Pattern.compile("^\\s*(SELECT|INSERT|UPDATE|DELETE|MERGE|WITH)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_RESOLVED = 1000;
+
+    private final Map<String, QueryName> exact = new HashMap<>();
+    private final List<Template> templates = new ArrayList<>();
+    private final Map<String, QueryName> resolved = new ConcurrentHashMap<>();
+
+    public QueryNames(Class<?>... repositories) {
+        for (Class<?> repository : repositories) {
+            for (Field field : repository.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)
+                        || field.getType() != String.class) {
+                    continue;
+                }
+                field.setAccessible(true);
+                String sql;
+                try {
+                    sql = (String) field.get(null);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot read " + field, e);
+                }
+                if (sql == null || !STATEMENT.matcher(sql).find()) {
+                    continue;
+                }
+                QueryName name = new QueryName(repository.getSimpleName(), field.getName());
+                if (sql.contains("%s")) {
+                    templates.add(new Template(toPattern(sql), sql.length(), name));
+                } else {
+                    exact.putIfAbsent(normalize(sql), name);
+                }
+            }
+        }
+        templates.sort(Comparator.comparingInt(Template::getLength).reversed());
+    }
+
+    /**
+     * Returns the name of the given statement, {@link #UNKNOWN} if it is not known.
+     */
+    public QueryName resolve(String sql) {
+        if (sql == null) {
+            return UNKNOWN;
+        }
+        QueryName name = resolved.get(sql);
+        if (name != null) {
+            return name;
+        }
+        String normalized = normalize(sql);
+        name = exact.getOrDefault(normalized, UNKNOWN);
+        if (name == UNKNOWN) {
+            for (Template template : templates) {
+                if (template.getPattern().matcher(normalized).matches()) {
+                    name = template.getName();
+                    break;
+                }
+            }
+        }
+        if (resolved.size() >= MAX_RESOLVED) {
+            resolved.clear();
+        }
+        resolved.put(sql, name);
+        return name;
+    }
+
+    private static Pattern toPattern(String template) {
+        String[] parts = normalize(template).split("%S", -1);
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                regex.append(".*?");
+            }
+            regex.append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static String normalize(String sql) {
+        return WHITESPACE.matcher(sql).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Repository class and constant name of a statement.
+     */
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class QueryName {
+        private final String repository;
+        private final String query;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Template {
+        private final Pattern pattern;
+        private final int length;
+        private final QueryName name;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Statement which took longer than the slow query threshold.
+ *
+ * <p>The plan is filled in later, and only for sampled queries.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SlowQuery {
+    private final ZonedDateTime occurredOn;
+    private final String repository;
+    private final String query;
+    private final String sql;
+    private final List<String> parameters;
+    private final double durationMs;
+    private final long rows;
+    private final boolean failed;
+
+    @Setter(AccessLevel.PACKAGE)
+    private volatile String plan;
+}
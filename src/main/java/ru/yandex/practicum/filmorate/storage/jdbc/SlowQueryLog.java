@@ -0,0 +1,174 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryNames.QueryName;
+
+/**
+ * Keeps the last slow statements together with their parameters and plans.
+ *
+ * <p>A statement is slow when it runs at least {@code thresholdMs}. The newest
+ * {@code capacity} ones are kept. For a sample of slow reads, at most one per query
+ * name every {@code explainIntervalMs}, the statement is run again with
+ * {@code EXPLAIN ANALYZE} on a background thread, bypassing the listeners. Writes are
+ * never explained, as that would execute them twice.
+ *
+ * <p>Bound parameters may hold personal data such as emails, so they are masked
+ * unless {@code showParameters} is set.
+ */
+@Component
+@Slf4j
+public class SlowQueryLog implements QueryListener {
+
+    private static final Pattern READ =
+        Pattern.compile("^\\s*(SELECT|WITH)\\b", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final String MASK = "******";
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final long thresholdNanos;
+    private final int capacity;
+    private final long explainIntervalNanos;
+    private final boolean showParameters;
+
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+    private final Map<QueryName, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+
+    @Autowired
+    public SlowQueryLog(ObjectProvider<DataSource> dataSource,
+            @Value("${filmorate.slow-queries.threshold-ms:100}") long thresholdMs,
+            @Value("${filmorate.slow-queries.capacity:100}") int capacity,
+            @Value("${filmorate.slow-queries.explain-interval-ms:60000}") long explainIntervalMs,
+            @Value("${filmorate.slow-queries.show-parameters:false}") boolean showParameters) {
+        this.dataSource = dataSource;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.capacity = capacity;
+        this.explainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(explainIntervalMs);
+        this.showParameters = showParameters;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(capacity, 1)), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explainer");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        explainer.shutdownNow();
+    }
+
+    @Override
+    public void onQuery(QueryExecution execution) {
+        if (execution.getDurationNanos() < thresholdNanos || capacity <= 0) {
+            return;
+        }
+        SlowQuery query = new SlowQuery(
+            ZonedDateTime.now(),
+            execution.getName().getRepository(),
+            execution.getName().getQuery(),
+            execution.getSql(),
+            execution.getParameters().stream()
+                .map(this::describe)
+                .collect(Collectors.toList()),
+            execution.getDurationNanos() / 1_000_000.0,
+            execution.getRows(),
+            execution.isFailed(),
+            null);
+        synchronized (queries) {
+            if (queries.size() >= capacity) {
+                queries.removeLast();
+            }
+            queries.addFirst(query);
+        }
+        log.debug("Slow query {}", query);
+        if (shouldExplain(execution)) {
+            explainer.execute(() -> explain(query, execution.getParameters()));
+        }
+    }
+
+    /**
+     * Returns kept slow statements, newest first.
+     */
+    public List<SlowQuery> getQueries() {
+        synchronized (queries) {
+            return new ArrayList<>(queries);
+        }
+    }
+
+    public void clear() {
+        synchronized (queries) {
+            queries.clear();
+        }
+        lastExplained.clear();
+    }
+
+    private boolean shouldExplain(QueryExecution execution) {
+        if (execution.isFailed() || execution.getSql() == null
+                || !READ.matcher(execution.getSql()).find()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(execution.getName());
+        if (previous != null && now - previous < explainIntervalNanos) {
+            return false;
+        }
+        return previous == null
+            ? lastExplained.putIfAbsent(execution.getName(), now) == null
+            : lastExplained.replace(execution.getName(), previous, now);
+    }
+
+    private void explain(SlowQuery query, List<Object> parameters) {
+        DataSource target = dataSource.getObject();
+        if (target instanceof ObservedDataSource) {
+            target = ((ObservedDataSource) target).getTargetDataSource();
+        }
+        try (Connection connection = target.getConnection();
+             PreparedStatement statement =
+                 connection.prepareStatement("EXPLAIN ANALYZE " + query.getSql())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            query.setPlan(plan.toString());
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Cannot explain {}", query.getQuery(), e);
+        }
+    }
+
+    private String describe(Object value) {
+        if (!showParameters) {
+            return MASK;
+        }
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH
+            ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+}
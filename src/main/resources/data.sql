@@ -1,8 +0,0 @@
-INSERT INTO genres (name)
-VALUES
-    ('Комедия'),
-    ('Драма'),
-    ('Мультфильм'),
-    ('Триллер'),
-    ('Документальный'),
-    ('Боевик');
\ No newline at end of file
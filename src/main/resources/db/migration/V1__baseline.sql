@@ -1,3 +1,6 @@
+-- Schema as it was created by schema.sql. Statements are idempotent, so databases
+-- created before migrations were introduced are brought to the same state.
+
 CREATE TABLE IF NOT EXISTS users (
     user_id BIGSERIAL PRIMARY KEY NOT NULL,
     email VARCHAR(255) NOT NULL UNIQUE,
@@ -12,9 +15,14 @@ CREATE TABLE IF NOT EXISTS films (
     description TEXT NOT NULL,
     release_date DATE NOT NULL,
     duration INT NOT NULL,
-    mpa CHAR(10) NOT NULL
+    mpa CHAR(10) NOT NULL,
+    like_count BIGINT NOT NULL DEFAULT 0
 );
 
+ALTER TABLE films ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS films_like_count_idx ON films (like_count DESC, film_id);
+
 CREATE TABLE IF NOT EXISTS genres (
     genre_id BIGSERIAL PRIMARY KEY NOT NULL,
     name     VARCHAR(255)          NOT NULL
@@ -51,6 +59,13 @@ CREATE TABLE IF NOT EXISTS events (
     operation VARCHAR(30),
     occurred_on DATETIME NOT NULL
 );
+CREATE TABLE IF NOT EXISTS feed (
+    owner_id BIGINT NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    event_id BIGINT NOT NULL REFERENCES events (event_id) ON DELETE CASCADE,
+    occurred_on DATETIME NOT NULL,
+    PRIMARY KEY (owner_id, event_id)
+);
+CREATE INDEX IF NOT EXISTS feed_owner_occurred_on_idx ON feed (owner_id, occurred_on DESC, event_id DESC);
 
 CREATE TABLE IF NOT EXISTS reviews
 (
@@ -70,3 +85,22 @@ CREATE TABLE IF NOT EXISTS review_likes
     PRIMARY KEY (review_id, user_id)
 );
 
+-- Fills the feed once for databases created before it was introduced
+INSERT INTO feed (owner_id, event_id, occurred_on)
+SELECT fr.inviter_id, e.event_id, e.occurred_on
+FROM events AS e JOIN friendship AS fr ON fr.acceptor_id = e.user_id
+WHERE NOT EXISTS (SELECT 1 FROM feed)
+UNION
+SELECT fr.acceptor_id, e.event_id, e.occurred_on
+FROM events AS e JOIN friendship AS fr ON fr.inviter_id = e.user_id AND fr.is_confirmed IS TRUE
+WHERE NOT EXISTS (SELECT 1 FROM feed);
+
+INSERT INTO genres (name)
+SELECT name FROM (VALUES
+    ('Комедия'),
+    ('Драма'),
+    ('Мультфильм'),
+    ('Триллер'),
+    ('Документальный'),
+    ('Боевик')) AS g (name)
+WHERE NOT EXISTS (SELECT 1 FROM genres);
@@ -0,0 +1,11 @@
+-- H2 already indexes every foreign key column on its own, so single column indexes
+-- on likes (film_id), reviews (film_id), film_genre (genre_id), events (user_id) or
+-- friendship (acceptor_id) would duplicate those. The indexes below serve lookups
+-- the foreign key indexes cannot.
+
+-- Common films and like recounts probe likes of a film for a user
+CREATE INDEX IF NOT EXISTS likes_film_user_idx ON likes (film_id, user_id);
+
+-- H2 has no expression indexes, popular films of a year filter by a computed column
+ALTER TABLE films ADD COLUMN IF NOT EXISTS release_year INT AS YEAR(release_date);
+CREATE INDEX IF NOT EXISTS films_release_year_idx ON films (release_year, like_count DESC, film_id);
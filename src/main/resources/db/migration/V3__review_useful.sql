@@ -0,0 +1,13 @@
+-- Stored useful rating of reviews. Writes maintain it from now on, ratings of
+-- existing reviews are filled in chunks by the backfill job, which keeps its
+-- progress below. Until it completes, ratings are still aggregated on read.
+ALTER TABLE reviews ADD COLUMN IF NOT EXISTS useful INT;
+
+CREATE TABLE IF NOT EXISTS backfill_progress (
+    name VARCHAR(100) PRIMARY KEY NOT NULL,
+    last_key BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS reviews_film_useful_idx ON reviews (film_id, useful DESC, review_id);
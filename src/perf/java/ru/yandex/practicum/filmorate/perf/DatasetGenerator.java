@@ -0,0 +1,367 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Friendship;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.model.Review;
+import ru.yandex.practicum.filmorate.model.ReviewLike;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.impl.BackfillProgressDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.EventDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.FilmDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.GenreDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.ReviewDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.UserDbStorage;
+
+/**
+ * Seeds an empty database with a deterministic dataset through the storage classes.
+ *
+ * <p>The same seed and scale always produce the same rows, so numbers measured on
+ * different revisions are comparable. Identities are assigned by the database in
+ * insertion order, which makes them predictable as well: users and films are
+ * numbered from 1.
+ *
+ * <p>Distributions follow what social catalogs usually show: film popularity is Zipf
+ * distributed, friendship degrees follow a power law and activity of users is
+ * log-normal, so hot films and hub users stress the same paths they do in production.
+ */
+@Slf4j
+public class DatasetGenerator {
+
+    /**
+     * Version of the generated data, part of database names. Increment it when the
+     * generator changes so that stale databases are not reused.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Schema migrations of the application, without test data.
+     */
+    public static final String MIGRATIONS = "classpath:db/migration";
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int GENRES = 6;
+    private static final double FILM_POPULARITY_EXPONENT = 1.0;
+    private static final double FRIENDSHIP_EXPONENT = 1.5;
+    private static final double LOG_NORMAL_SIGMA = 1.0;
+    private static final double USEFUL_SHARE = 0.7;
+    private static final int MAX_INVITATIONS = 1000;
+    private static final int MAX_LIKES_PER_USER = 2000;
+    private static final ZonedDateTime FIRST_EVENT =
+        ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final String[] WORDS = {
+        "Matrix", "Batman", "Rain", "Man", "Star", "Wars", "Alien", "Heat", "Jaws", "Night",
+        "City", "Lost", "Dark", "Knight", "Blade", "Runner", "Godfather", "Return", "King",
+        "Ring", "Toy", "Story", "Back", "Future", "Fight", "Club", "Green", "Mile", "Space",
+        "Odyssey"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    private final UserDbStorage userStorage;
+    private final FilmDbStorage filmStorage;
+    private final EventDbStorage eventStorage;
+    private final ReviewDbStorage reviewStorage;
+
+    public DatasetGenerator(DataSource dataSource, long seed) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate =
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.random = new Random(seed);
+
+        GenreDbStorage genreStorage = new GenreDbStorage(jdbcTemplate);
+        genreStorage.refresh();
+        this.userStorage = new UserDbStorage(jdbcTemplate);
+        this.filmStorage = new FilmDbStorage(jdbcTemplate, genreStorage);
+        this.eventStorage = new EventDbStorage(jdbcTemplate);
+        BackfillProgressDbStorage backfills = new BackfillProgressDbStorage(jdbcTemplate);
+        backfills.load();
+        this.reviewStorage = new ReviewDbStorage(jdbcTemplate, backfills);
+    }
+
+    /**
+     * Returns the URL of the file database holding the dataset of the given size.
+     */
+    public static String databaseUrl(int likes, long seed) {
+        return "jdbc:h2:file:./target/benchmarks/filmorate-v" + VERSION + "-" + likes + "-" + seed;
+    }
+
+    /**
+     * Creates and seeds the database unless it was seeded before.
+     */
+    public static void ensureSeeded(String url, Scale scale, long seed) {
+        SingleConnectionDataSource dataSource = openDatabase(url);
+        try {
+            DatasetGenerator generator = new DatasetGenerator(dataSource, seed);
+            if (!generator.isSeeded()) {
+                generator.generate(scale);
+            }
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    /**
+     * Opens an H2 database and migrates its schema.
+     *
+     * <p>Test data migrations are left out, they are on the benchmark class path too.
+     */
+    public static SingleConnectionDataSource openDatabase(String url) {
+        SingleConnectionDataSource dataSource =
+            new SingleConnectionDataSource(url, "sa", "password", true);
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations(MIGRATIONS)
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+        return dataSource;
+    }
+
+    /**
+     * Returns whether the database already holds users, i.e. was seeded before.
+     */
+    public boolean isSeeded() {
+        Integer users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        return users != null && users > 0;
+    }
+
+    public void generate(Scale scale) {
+        log.info("Generating dataset of {}", scale);
+        long started = System.nanoTime();
+
+        timed("users", () -> generateUsers(scale));
+        timed("films", () -> generateFilms(scale));
+        timed("friendships", () -> generateFriendships(scale));
+        Zipf filmPopularity = new Zipf(scale.getFilms(), FILM_POPULARITY_EXPONENT);
+        int[] filmByRank = shuffledIds(scale.getFilms());
+        List<Like> likes = new ArrayList<>();
+        timed("likes", () -> likes.addAll(generateLikes(scale, filmPopularity, filmByRank)));
+        timed("events", () -> generateEvents(scale, likes));
+        timed("reviews", () -> generateReviews(scale, filmPopularity, filmByRank));
+
+        log.info("Dataset generated in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Runs a generation step in a single transaction and logs its duration.
+     */
+    private void timed(String step, Runnable action) {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> action.run());
+        log.info("Generated {} in {} ms", step, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void generateUsers(Scale scale) {
+        List<User> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 1; i <= scale.getUsers(); i++) {
+            chunk.add(new User(null, "user" + i + "@mail.ru", "user" + i, "User " + i,
+                LocalDate.of(1950, 1, 1).plusDays(random.nextInt(50 * 365))));
+            if (chunk.size() == CHUNK_SIZE) {
+                userStorage.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        userStorage.saveAll(chunk);
+    }
+
+    private void generateFilms(Scale scale) {
+        MpaRating[] ratings = MpaRating.values();
+        List<Film> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 1; i <= scale.getFilms(); i++) {
+            Set<Genre> genres = new HashSet<>();
+            int count = 1 + random.nextInt(2);
+            while (genres.size() < count) {
+                genres.add(new Genre(1 + random.nextInt(GENRES), null));
+            }
+            chunk.add(new Film(null, title(i), "Description of film " + i,
+                LocalDate.of(1950, 1, 1).plusDays(random.nextInt(72 * 365)),
+                60 + random.nextInt(120), ratings[random.nextInt(ratings.length)], genres));
+            if (chunk.size() == CHUNK_SIZE) {
+                filmStorage.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        filmStorage.saveAll(chunk);
+    }
+
+    /**
+     * Each user invites a Zipf distributed number of others, chosen with Zipf
+     * distributed popularity, so that both out and in degrees follow a power law
+     * with a few hubs. Half of the friendships are confirmed.
+     */
+    private void generateFriendships(Scale scale) {
+        int users = scale.getUsers();
+        Zipf invitations = new Zipf(Math.min(users - 1, MAX_INVITATIONS),
+            FRIENDSHIP_EXPONENT);
+        Zipf popularity = new Zipf(users, FRIENDSHIP_EXPONENT);
+        int[] userByRank = shuffledIds(users);
+
+        Set<Long> pairs = new HashSet<>();
+        List<Friendship> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int inviter = 1; inviter <= users; inviter++) {
+            int count = invitations.next(random);
+            for (int k = 0; k < count; k++) {
+                int acceptor = userByRank[popularity.next(random) - 1];
+                long pair = (long) Math.min(inviter, acceptor) * (users + 1)
+                    + Math.max(inviter, acceptor);
+                if (acceptor == inviter || !pairs.add(pair)) {
+                    continue;
+                }
+                chunk.add(new Friendship(inviter, acceptor, random.nextBoolean()));
+                if (chunk.size() == CHUNK_SIZE) {
+                    userStorage.saveFriendships(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        userStorage.saveFriendships(chunk);
+    }
+
+    /**
+     * Users like a log-normally distributed number of films, so most users are
+     * casual and a few are very active. Films are chosen with Zipf distributed
+     * popularity.
+     */
+    private List<Like> generateLikes(Scale scale, Zipf filmPopularity, int[] filmByRank) {
+        List<Like> likes = new ArrayList<>();
+        List<Like> chunk = new ArrayList<>(CHUNK_SIZE);
+        Map<Long, Integer> counts = new TreeMap<>();
+        int maxLikes = Math.min(scale.getFilms(), MAX_LIKES_PER_USER);
+        for (int user = 1; user <= scale.getUsers(); user++) {
+            int count = Math.min(maxLikes, logNormal(scale.getLikesPerUser()));
+            Set<Long> films = new LinkedHashSet<>();
+            while (films.size() < count) {
+                films.add((long) filmByRank[filmPopularity.next(random) - 1]);
+            }
+            for (Long film : films) {
+                Like like = new Like(user, film, FIRST_EVENT);
+                likes.add(like);
+                chunk.add(like);
+                counts.merge(film, 1, Integer::sum);
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                filmStorage.saveLikes(chunk);
+                chunk.clear();
+            }
+        }
+        filmStorage.saveLikes(chunk);
+        filmStorage.updateLikeCounts(counts);
+        return likes;
+    }
+
+    /**
+     * Records like events of the first likes of each user, spread a minute apart.
+     */
+    private void generateEvents(Scale scale, List<Like> likes) {
+        List<Event> chunk = new ArrayList<>(CHUNK_SIZE);
+        long minute = 0;
+        long user = 0;
+        int userEvents = 0;
+        for (Like like : likes) {
+            if (like.getUserid() != user) {
+                user = like.getUserid();
+                userEvents = 0;
+            }
+            if (userEvents++ >= scale.getEventsPerUser()) {
+                continue;
+            }
+            chunk.add(new Event(null, like.getUserid(), like.getFilmId(),
+                FIRST_EVENT.plusMinutes(minute++), "LIKE", "ADD"));
+            if (chunk.size() == CHUNK_SIZE) {
+                eventStorage.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        eventStorage.saveAll(chunk);
+    }
+
+    /**
+     * Popular films get most of the reviews. Each review gets a log-normally
+     * distributed number of marks, mostly useful ones.
+     */
+    private void generateReviews(Scale scale, Zipf filmPopularity, int[] filmByRank) {
+        long total = (long) scale.getFilms() * scale.getReviewsPerFilm();
+        Set<Long> reviewed = new HashSet<>();
+        for (long i = 0; i < total; i++) {
+            int film = filmByRank[filmPopularity.next(random) - 1];
+            int author = 1 + random.nextInt(scale.getUsers());
+            if (!reviewed.add((long) author * (scale.getFilms() + 1) + film)) {
+                continue;
+            }
+
+            Review review = new Review(null, author, film, random.nextBoolean(),
+                "Review of film " + film + " by user " + author, 0);
+            reviewStorage.save(review);
+
+            int marks = Math.min(scale.getUsers(), logNormal(scale.getMarksPerReview() + 1) - 1);
+            Set<Integer> markers = new LinkedHashSet<>();
+            while (markers.size() < marks) {
+                markers.add(1 + random.nextInt(scale.getUsers()));
+            }
+            for (int user : markers) {
+                reviewStorage.save(new ReviewLike(user, review.getId(),
+                    random.nextDouble() < USEFUL_SHARE));
+            }
+        }
+    }
+
+    /**
+     * Returns a positive log-normally distributed integer with the given mean.
+     */
+    private int logNormal(double mean) {
+        double mu = Math.log(mean) - LOG_NORMAL_SIGMA * LOG_NORMAL_SIGMA / 2;
+        return Math.max(1,
+            (int) Math.round(Math.exp(mu + LOG_NORMAL_SIGMA * random.nextGaussian())));
+    }
+
+    /**
+     * Returns identities from 1 to {@code n} in a random order, used to map popularity
+     * ranks to identities so that popularity does not follow insertion order.
+     */
+    private int[] shuffledIds(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * Builds a two word title, so that searches by a word match a fraction of films.
+     */
+    private String title(int i) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+            + " " + i;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.FilmService;
+
+/**
+ * Popular films, recommendations and search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FilmBenchmark {
+
+    private FilmService filmService;
+    private int users;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(FilmorateState state) {
+        filmService = state.getBean(FilmService.class);
+        users = state.getScale().getUsers();
+        random = new SplittableRandom(FilmorateState.SEED);
+    }
+
+    @Benchmark
+    public Collection<Film> mostPopularFilms() {
+        return filmService.getMostPopularFilms(null, null, 10);
+    }
+
+    @Benchmark
+    public Collection<Film> mostPopularFilmsByGenreAndYear() {
+        return filmService.getMostPopularFilms(1 + (long) random.nextInt(6),
+            1950 + random.nextInt(72), 10);
+    }
+
+    @Benchmark
+    public Collection<Film> recommendationsForUser() {
+        return filmService.getRecommendations(1 + (long) random.nextInt(users), 10);
+    }
+
+    @Benchmark
+    public Collection<Film> filmsBySearch() {
+        return filmService.getFilmsBySearch("matrix", "title", null, 10);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+
+/**
+ * Application started over a seeded H2 database.
+ *
+ * <p>Databases are kept in {@code target/benchmarks}, one per generator version, scale
+ * and seed, and are generated on first use only. Schema changes reach existing
+ * databases through migrations.
+ */
+@State(Scope.Benchmark)
+public class FilmorateState {
+
+    static final long SEED = 42;
+
+    /**
+     * Total number of likes in the dataset.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int likes;
+
+    private Scale scale;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Logging is not configured until the application starts, keep generation quiet
+        LoggingSystem.get(getClass().getClassLoader())
+            .setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+        scale = Scale.ofLikes(likes);
+        String url = DatasetGenerator.databaseUrl(likes, SEED);
+        DatasetGenerator.ensureSeeded(url, scale, SEED);
+
+        context = new SpringApplicationBuilder(FilmorateApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run("--spring.datasource.url=" + url,
+                "--spring.flyway.locations=" + DatasetGenerator.MIGRATIONS,
+                "--logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public Scale getScale() {
+        return scale;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
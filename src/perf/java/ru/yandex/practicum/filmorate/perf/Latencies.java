@@ -0,0 +1,52 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint recorded by one thread, in nanoseconds.
+ */
+final class Latencies {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void addAll(Latencies other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Returns the given percentile, sorting recorded values in place.
+     */
+    long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        Arrays.sort(values, 0, size);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return values[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,190 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.FilmorateApplication;
+
+/**
+ * Closed-loop HTTP load driver replaying a mixed workload.
+ *
+ * <p>Each of {@code threads} workers sends the next request as soon as the previous one
+ * completes. After a warm-up the driver records latencies for {@code duration} seconds
+ * and prints throughput and p50/p99 latency per endpoint.
+ *
+ * <p>Without {@code --url} the application is started in-process over a generated
+ * database of {@code --likes} likes. With {@code --url} the target is expected to
+ * hold a dataset generated with the same {@code --likes} and {@code --seed}.
+ * Options are {@code --url}, {@code --likes} (100000), {@code --seed} (42),
+ * {@code --threads} (8), {@code --warmup} (10), {@code --duration} (60) and
+ * {@code --read-only}.
+ */
+@Slf4j
+public final class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private final String baseUrl;
+    private final Workload workload;
+    private final int threads;
+    private final long seed;
+
+    private LoadDriver(String baseUrl, Workload workload, int threads, long seed) {
+        this.baseUrl = baseUrl;
+        this.workload = workload;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Logging is not configured until the application starts, keep generation quiet
+        LoggingSystem.get(LoadDriver.class.getClassLoader())
+            .setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+        Map<String, String> options = parse(args);
+        int likes = Integer.parseInt(options.getOrDefault("likes", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "8"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        boolean readOnly = options.containsKey("read-only");
+
+        Scale scale = Scale.ofLikes(likes);
+        Workload workload = new Workload(scale, readOnly, seed);
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("url");
+        if (baseUrl == null) {
+            String url = DatasetGenerator.databaseUrl(likes, seed);
+            DatasetGenerator.ensureSeeded(url, scale, seed);
+            context = new SpringApplicationBuilder(FilmorateApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--spring.datasource.url=" + url,
+                    "--spring.flyway.locations=" + DatasetGenerator.MIGRATIONS,
+                    "--server.port=0",
+                    "--logging.level.root=WARN");
+            baseUrl = "http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            log.info("Driving {} with {} threads, {} s warm-up, {} s measurement",
+                baseUrl, threads, warmup, duration);
+            Map<String, Latencies> results =
+                new LoadDriver(baseUrl, workload, threads, seed).run(warmup, duration);
+            report(results, duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Map<String, Latencies> run(int warmupSeconds, int durationSeconds)
+            throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Map<String, Latencies>>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(seed + i);
+            workers.add(executor.submit(() -> work(random, measureFrom, measureTo)));
+        }
+
+        Map<String, Latencies> results = new LinkedHashMap<>();
+        for (Workload.Operation operation : workload.getOperations()) {
+            results.put(operation.getName(), new Latencies());
+        }
+        for (Future<Map<String, Latencies>> worker : workers) {
+            worker.get().forEach((name, latencies) -> results.get(name).addAll(latencies));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private Map<String, Latencies> work(Random random, long measureFrom, long measureTo)
+            throws InterruptedException {
+        Map<String, Latencies> latencies = new HashMap<>();
+        long now = System.nanoTime();
+        while (now < measureTo) {
+            Workload.Operation operation = workload.next(random);
+            boolean error;
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(
+                    operation.request(baseUrl, random), HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 500;
+            } catch (IOException e) {
+                error = true;
+            }
+            now = System.nanoTime();
+            if (started >= measureFrom && now <= measureTo) {
+                latencies.computeIfAbsent(operation.getName(), name -> new Latencies())
+                    .record(now - started, error);
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Client errors are expected, as random users may be unknown to each other or like
+     * a film twice, so only server errors and failed connections count as errors.
+     */
+    private static void report(Map<String, Latencies> results, int durationSeconds) {
+        String format = "%-45s %10s %8s %10s %10s %10s%n";
+        System.out.printf(format, "Endpoint", "Requests", "Errors", "Req/s", "p50, ms",
+            "p99, ms");
+
+        Latencies total = new Latencies();
+        results.forEach((name, latencies) -> {
+            print(format, name, latencies, durationSeconds);
+            total.addAll(latencies);
+        });
+        print(format, "Total", total, durationSeconds);
+    }
+
+    private static void print(String format, String name, Latencies latencies,
+            int durationSeconds) {
+        System.out.printf(format, name, latencies.size(), latencies.errors(),
+            String.format("%.1f", (double) latencies.size() / durationSeconds),
+            String.format("%.2f", latencies.percentile(50) / 1e6),
+            String.format("%.2f", latencies.percentile(99) / 1e6));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,99 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.util.Collection;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Review;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.impl.EventDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.FilmDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.ReviewDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.UserDbStorage;
+
+/**
+ * Storage queries bypassing caches and in-memory indexes, one per access path
+ * served by a secondary index. Feed merges are rolled back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class QueryBenchmark {
+
+    private FilmDbStorage filmStorage;
+    private UserDbStorage userStorage;
+    private ReviewDbStorage reviewStorage;
+    private EventDbStorage eventStorage;
+    private TransactionTemplate transactionTemplate;
+    private int users;
+    private int films;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(FilmorateState state) {
+        filmStorage = state.getBean(FilmDbStorage.class);
+        userStorage = state.getBean(UserDbStorage.class);
+        reviewStorage = state.getBean(ReviewDbStorage.class);
+        eventStorage = state.getBean(EventDbStorage.class);
+        transactionTemplate = state.getBean(TransactionTemplate.class);
+        users = state.getScale().getUsers();
+        films = state.getScale().getFilms();
+        random = new SplittableRandom(FilmorateState.SEED);
+    }
+
+    @Benchmark
+    public Collection<Film> commonFilms() {
+        return filmStorage.getCommonFilms(randomUser(), randomUser());
+    }
+
+    @Benchmark
+    public Collection<Film> popularFilmsByGenre() {
+        return filmStorage.getMostPopularFilms(OptionalLong.of(1 + random.nextInt(6)),
+            OptionalInt.empty(), 10);
+    }
+
+    @Benchmark
+    public Collection<Film> popularFilmsByYear() {
+        return filmStorage.getMostPopularFilms(OptionalLong.empty(),
+            OptionalInt.of(1950 + random.nextInt(72)), 10);
+    }
+
+    @Benchmark
+    public Collection<User> friendsOfUser() {
+        return userStorage.getFriendsOfUser(randomUser(), OptionalLong.empty(), 100);
+    }
+
+    @Benchmark
+    public Collection<Review> reviewsOfFilm() {
+        return reviewStorage.getReviewsByFilmId(1 + random.nextInt(films), 10);
+    }
+
+    @Benchmark
+    public void feedMergeOfAuthor() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventStorage.addToFeed(randomUser(), randomUser());
+            status.setRollbackOnly();
+        });
+    }
+
+    private long randomUser() {
+        return 1 + random.nextInt(users);
+    }
+}
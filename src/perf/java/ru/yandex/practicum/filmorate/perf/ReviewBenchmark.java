@@ -0,0 +1,46 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.model.Review;
+import ru.yandex.practicum.filmorate.service.ReviewService;
+
+/**
+ * Reviews of a film ordered by usefulness.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReviewBenchmark {
+
+    private ReviewService reviewService;
+    private int films;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(FilmorateState state) {
+        reviewService = state.getBean(ReviewService.class);
+        films = state.getScale().getFilms();
+        random = new SplittableRandom(FilmorateState.SEED);
+    }
+
+    @Benchmark
+    public Collection<Review> reviewsOfFilm() {
+        return reviewService.getAllReviewsByFilmId(1 + random.nextInt(films), null, 10);
+    }
+}
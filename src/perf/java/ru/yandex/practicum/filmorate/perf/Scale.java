@@ -0,0 +1,45 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Size of a generated dataset, derived from the total number of likes.
+ *
+ * <p>Per user and per film figures are means of the generated distributions.
+ */
+@Getter
+@ToString
+public final class Scale {
+
+    private static final int LIKES_PER_USER = 20;
+    private static final int LIKES_PER_FILM = 50;
+    private static final int MIN_USERS = 100;
+    private static final int MIN_FILMS = 50;
+
+    private final int users;
+    private final int films;
+    private final int likesPerUser;
+    private final int friendsPerUser;
+    private final int eventsPerUser;
+    private final int reviewsPerFilm;
+    private final int marksPerReview;
+
+    private Scale(int users, int films) {
+        this.users = users;
+        this.films = films;
+        this.likesPerUser = Math.min(LIKES_PER_USER, films);
+        this.friendsPerUser = 6;
+        this.eventsPerUser = 10;
+        this.reviewsPerFilm = 2;
+        this.marksPerReview = 3;
+    }
+
+    /**
+     * Returns a scale with about {@code likes} likes, twenty per user on average.
+     */
+    public static Scale ofLikes(int likes) {
+        return new Scale(Math.max(MIN_USERS, likes / LIKES_PER_USER),
+            Math.max(MIN_FILMS, likes / LIKES_PER_FILM));
+    }
+}
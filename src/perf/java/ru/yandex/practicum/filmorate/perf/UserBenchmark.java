@@ -0,0 +1,54 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+/**
+ * Common friends and feeds of users.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UserBenchmark {
+
+    private UserService userService;
+    private int users;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(FilmorateState state) {
+        userService = state.getBean(UserService.class);
+        users = state.getScale().getUsers();
+        random = new SplittableRandom(FilmorateState.SEED);
+    }
+
+    @Benchmark
+    public Collection<User> commonFriends() {
+        long userId = 1 + random.nextInt(users);
+        long otherId = 1 + random.nextInt(users);
+        return userService.getCommonFriends(userId, otherId);
+    }
+
+    @Benchmark
+    public Collection<Event> feedOfUser() {
+        return userService.getEventsOfUser(1 + random.nextInt(users), null, 100);
+    }
+}
@@ -0,0 +1,135 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Weighted mix of requests to films, users and reviews endpoints.
+ *
+ * <p>Users are picked uniformly, films with Zipf distributed popularity, so hot
+ * films are hit much more often than the rest, as in a real catalog.
+ */
+final class Workload {
+
+    private static final String[] QUERIES = {"matrix", "dark", "star", "king", "man"};
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int users;
+    private final Zipf filmPopularity;
+    private final int[] filmByRank;
+    private int totalWeight;
+
+    Workload(Scale scale, boolean readOnly, long seed) {
+        this.users = scale.getUsers();
+        this.filmPopularity = new Zipf(scale.getFilms(), 1.0);
+        this.filmByRank = new int[scale.getFilms()];
+        Random random = new Random(seed);
+        for (int i = 0; i < filmByRank.length; i++) {
+            int j = random.nextInt(i + 1);
+            filmByRank[i] = filmByRank[j];
+            filmByRank[j] = i + 1;
+        }
+
+        add("GET /films/popular", 15, (base, r) ->
+            get(base + "/films/popular?count=10"));
+        add("GET /films/{id}", 15, (base, r) ->
+            get(base + "/films/" + film(r)));
+        add("GET /films/search", 8, (base, r) ->
+            get(base + "/films/search?by=title&count=10&query="
+                + QUERIES[r.nextInt(QUERIES.length)]));
+        add("GET /films/user/{id}/recommendations", 7, (base, r) ->
+            get(base + "/films/user/" + user(r) + "/recommendations"));
+        add("GET /films/{id}/similar", 5, (base, r) ->
+            get(base + "/films/" + film(r) + "/similar"));
+        add("GET /users/{id}", 10, (base, r) ->
+            get(base + "/users/" + user(r)));
+        add("GET /users/{id}/friends", 8, (base, r) ->
+            get(base + "/users/" + user(r) + "/friends"));
+        add("GET /users/{id}/friends/common/{otherId}", 5, (base, r) ->
+            get(base + "/users/" + user(r) + "/friends/common/" + user(r)));
+        add("GET /users/{id}/feed", 10, (base, r) ->
+            get(base + "/users/" + user(r) + "/feed"));
+        add("GET /review?film={id}", 7, (base, r) ->
+            get(base + "/review?count=10&film=" + film(r)));
+
+        if (!readOnly) {
+            add("PUT /films/{id}/like/{userId}", 5, (base, r) ->
+                send("PUT", base + "/films/" + film(r) + "/like/" + user(r)));
+            add("DELETE /films/{id}/like/{userId}", 3, (base, r) ->
+                send("DELETE", base + "/films/" + film(r) + "/like/" + user(r)));
+            add("PUT /users/{id}/friends/{friendId}", 2, (base, r) ->
+                send("PUT", base + "/users/" + user(r) + "/friends/" + user(r)));
+        }
+    }
+
+    /**
+     * Picks the next operation according to weights.
+     */
+    Operation next(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            point -= operation.weight;
+            if (point < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not sum up to " + totalWeight);
+    }
+
+    List<Operation> getOperations() {
+        return operations;
+    }
+
+    private void add(String name, int weight,
+            BiFunction<String, Random, HttpRequest> request) {
+        operations.add(new Operation(name, weight, request));
+        totalWeight += weight;
+    }
+
+    private int user(Random random) {
+        return 1 + random.nextInt(users);
+    }
+
+    private int film(Random random) {
+        return filmByRank[filmPopularity.next(random) - 1];
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest send(String method, String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+    /**
+     * Endpoint of the mix.
+     */
+    static final class Operation {
+
+        private final String name;
+        private final int weight;
+        private final BiFunction<String, Random, HttpRequest> request;
+
+        private Operation(String name, int weight,
+                BiFunction<String, Random, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        HttpRequest request(String baseUrl, Random random) {
+            return request.apply(baseUrl, random);
+        }
+    }
+}
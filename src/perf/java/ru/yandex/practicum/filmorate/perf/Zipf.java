@@ -0,0 +1,30 @@
+package ru.yandex.practicum.filmorate.perf;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks from 1 to {@code n} with probability proportional to
+ * {@code 1 / rank^exponent}.
+ */
+final class Zipf {
+
+    private final double[] cumulative;
+
+    Zipf(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int i = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (i >= 0 ? i : -i - 1) + 1;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.storage.FriendshipStorage;
+import ru.yandex.practicum.filmorate.storage.UserStorage;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BulkImportRunnerTest {
+
+    private final BulkImportRunner runner;
+    private final UserStorage userStorage;
+    private final FriendshipStorage friendshipStorage;
+
+    @Test
+    void testImportsUsersBeforeFriendships(@TempDir Path dir) throws Exception {
+        Path users = Files.writeString(dir.resolve("users.ndjson"),
+            "{\"email\":\"amy@mail.ru\",\"login\":\"amy\",\"birthday\":\"1990-01-01\"}\n");
+        Path friendships = Files.writeString(dir.resolve("friendships.json"),
+            "[{\"inviterId\":4,\"acceptorId\":2,\"isConfirmed\":false}]");
+
+        runner.run(new DefaultApplicationArguments(
+            "--import.friendships=" + friendships, "--import.users=" + users));
+
+        assertThat(userStorage.exists(4)).isTrue();
+        assertThat(friendshipStorage.getFriendshipMetadataByUserIds(4, 2)).isPresent();
+    }
+}
@@ -1,19 +1,30 @@
 package ru.yandex.practicum.filmorate.controller;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -21,8 +32,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.LikePair;
 import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.service.FilmImportService;
 import ru.yandex.practicum.filmorate.service.FilmService;
 import ru.yandex.practicum.filmorate.service.LikeService;
 
@@ -43,9 +57,12 @@ class FilmControllerTest {
     @MockBean
     private LikeService likeService;
 
+    @MockBean
+    private FilmImportService filmImportService;
+
     @Test
     void givenListOfFilms_shouldReturnCode200AndCorrectData() throws Exception {
-        when(service.getAllFilms()).thenReturn(List.of(createFilm()));
+        when(service.getAllFilms(null, null)).thenReturn(List.of(createFilm()));
 
         mockMvc.perform(get("/films"))
             .andExpect(status().isOk())
@@ -56,6 +73,34 @@ class FilmControllerTest {
             .andExpect(jsonPath("$[0].releaseDate", is(RELEASE_DATE.format(RELEASE_DATE_FORMATTER))));
     }
 
+    @Test
+    void givenAnyAccept_shouldReturnFilmsAsJsonArray() throws Exception {
+        when(service.getAllFilms(null, null)).thenReturn(List.of(createFilm()));
+
+        mockMvc.perform(get("/films").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name", is(NAME)));
+    }
+
+    @Test
+    void givenNdJsonAccept_shouldStreamFilms() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Film> action = invocation.getArgument(0);
+            action.accept(createFilm());
+            action.accept(createFilm());
+            return null;
+        }).when(service).streamAllFilms(any());
+
+        MvcResult result = mockMvc.perform(get("/films").accept("application/x-ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(content().string(matchesPattern("(\\{[^\\n]*\"name\":\"name\"[^\\n]*}\\n){2}")));
+    }
+
     @Test
     void whenCreateFilmWithEmptyName_shouldReturnCode400() throws Exception {
         String filmInJson = "{"
@@ -278,6 +323,29 @@ class FilmControllerTest {
     }
 
 
+    @Test
+    void givenBatchOfLikes_shouldReturnCode200() throws Exception {
+        mockMvc.perform(put("/films/likes:batch")
+                .content("[{\"userId\":1,\"filmId\":2},{\"userId\":3,\"filmId\":2}]")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk());
+
+        verify(likeService).doLikes(List.of(new LikePair(1, 2), new LikePair(3, 2)));
+    }
+
+    @Test
+    void givenTooLargeBatchOfUnlikes_shouldReturnCode400() throws Exception {
+        String pairs = String.join(",",
+            Collections.nCopies(1001, "{\"userId\":1,\"filmId\":2}"));
+
+        mockMvc.perform(delete("/films/likes:batch")
+                .content("[" + pairs + "]")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(likeService);
+    }
+
     private Film createFilm() {
         return new Film(1L, NAME, DESCRIPTION, RELEASE_DATE, DURATION, MpaRating.G,
             new HashSet<>());
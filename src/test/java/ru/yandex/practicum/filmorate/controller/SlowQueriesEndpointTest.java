@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.yandex.practicum.filmorate.storage.impl.UserDbStorage;
+
+@SpringBootTest(properties = {
+    "filmorate.slow-queries.threshold-ms=0",
+    "management.endpoints.web.exposure.include=slowqueries"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SlowQueriesEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDbStorage userStorage;
+
+    @Test
+    void testServesMaskedSlowQueries() throws Exception {
+        userStorage.getUser(1);
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].query", is("SELECT_USER")))
+            .andExpect(jsonPath("$[0].parameters", everyItem(is("******"))));
+    }
+
+    @Test
+    void testClearsSlowQueries() throws Exception {
+        userStorage.getUser(1);
+
+        mockMvc.perform(delete("/actuator/slowqueries"))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testNotOnApplicationPaths() throws Exception {
+        mockMvc.perform(get("/admin/slow-queries"))
+            .andExpect(status().isNotFound());
+    }
+}
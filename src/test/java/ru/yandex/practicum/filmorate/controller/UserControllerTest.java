@@ -24,6 +24,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.UserImportService;
 import ru.yandex.practicum.filmorate.service.UserService;
 import ru.yandex.practicum.filmorate.service.exception.UserNotFoundException;
 
@@ -41,9 +42,12 @@ class UserControllerTest {
     @MockBean
     private UserService service;
 
+    @MockBean
+    private UserImportService userImportService;
+
     @Test
     void givenListOfUsers_shouldReturnCode200AndCorrectData() throws Exception {
-        when(service.getAllUsers()).thenReturn(List.of(createUser()));
+        when(service.getAllUsers(null, null)).thenReturn(List.of(createUser()));
 
         mockMvc.perform(get("/users"))
             .andExpect(status().isOk())
@@ -253,7 +257,7 @@ class UserControllerTest {
 
     @Test
     void getEventsOfNonExistedUser_shouldReturnCode404() throws Exception {
-        when(service.getEventsOfUser(-1)).thenThrow(UserNotFoundException.class);
+        when(service.getEventsOfUser(-1, null, null)).thenThrow(UserNotFoundException.class);
 
         mockMvc.perform(get("/users/-1/feed"))
             .andExpect(status().isNotFound())
@@ -262,7 +266,7 @@ class UserControllerTest {
 
     @Test
     void getEventsOfExistedUser_shouldReturnCode200() throws Exception {
-        when(service.getEventsOfUser(1)).thenReturn(Collections.emptyList());
+        when(service.getEventsOfUser(1, null, null)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/users/1/feed"))
             .andExpect(status().isOk())
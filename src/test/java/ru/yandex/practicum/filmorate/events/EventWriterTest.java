@@ -0,0 +1,53 @@
+package ru.yandex.practicum.filmorate.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.storage.EventReadModel;
+
+@SpringBootTest(properties = "filmorate.events.writer.batch-size=2")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EventWriterTest {
+
+    private final EventWriter eventWriter;
+    private final EventReadModel eventReadModel;
+
+    @Test
+    void testFlushWritesSubmittedEvents() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        for (long filmId = 1; filmId <= 5; filmId++) {
+            eventWriter.submit(new Event(null, 2, filmId, now, "LIKE", "ADD"));
+        }
+
+        eventWriter.flush();
+
+        assertThat(eventReadModel.getEventsListForUser(1))
+            .hasSize(6)
+            .extracting(Event::getEntityId)
+            .containsExactly(5L, 4L, 3L, 2L, 1L, 2L);
+    }
+
+    @Test
+    void testFailingEventDoesNotDropItsBatch() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        eventWriter.submit(new Event(null, 2, 1L, now, "LIKE", "ADD"));
+        eventWriter.submit(new Event(null, 99, 1L, now, "LIKE", "ADD"));
+        eventWriter.submit(new Event(null, 2, 3L, now, "LIKE", "ADD"));
+
+        eventWriter.flush();
+
+        assertThat(eventReadModel.getEventsListForUser(1))
+            .extracting(Event::getEntityId)
+            .containsExactly(3L, 1L, 2L);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Review;
+import ru.yandex.practicum.filmorate.model.ReviewLike;
+import ru.yandex.practicum.filmorate.storage.BackfillProgressStorage;
+import ru.yandex.practicum.filmorate.storage.impl.ReviewDbStorage;
+import ru.yandex.practicum.filmorate.storage.impl.ReviewUsefulBackfill;
+
+@SpringBootTest(properties = {
+    "filmorate.backfill.chunk-size=2",
+    "filmorate.backfill.initial-delay-ms=3600000"
+})
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BackfillRunnerTest {
+
+    private final BackfillRunner backfillRunner;
+    private final BackfillProgressStorage progressStorage;
+    private final ReviewDbStorage reviewStorage;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final List<Long> reviewIds = new ArrayList<>();
+
+    @BeforeEach
+    void createReviewsOfOldSchema() {
+        for (long userId = 1; userId <= 3; userId++) {
+            Review review = new Review(null, userId, 1, true, "Review " + userId, null);
+            reviewStorage.save(review);
+            reviewIds.add(review.getId());
+        }
+        Review review = new Review(null, 1, 2, false, "Review 4", null);
+        reviewStorage.save(review);
+        reviewIds.add(review.getId());
+
+        reviewStorage.save(new ReviewLike(2, reviewIds.get(0), true));
+        reviewStorage.save(new ReviewLike(3, reviewIds.get(0), true));
+        reviewStorage.save(new ReviewLike(1, reviewIds.get(1), false));
+
+        // Ratings of reviews written before the column was introduced are empty
+        jdbcTemplate.update("UPDATE reviews SET useful = NULL");
+    }
+
+    @Test
+    void testFillsChunksAndSwitchesReads() {
+        List<Long> aggregated = idsOfFilm(1);
+        assertThat(progressStorage.isCompleted(ReviewUsefulBackfill.NAME)).isFalse();
+
+        int runs = 0;
+        while (backfillRunner.fillNextChunk()) {
+            runs++;
+        }
+
+        assertThat(runs).isEqualTo(3);
+        assertThat(progressStorage.isCompleted(ReviewUsefulBackfill.NAME)).isTrue();
+        assertThat(storedUseful()).containsExactly(2, -1, 0, 0);
+        assertThat(idsOfFilm(1)).isEqualTo(aggregated);
+        assertThat(reviewStorage.getReview(reviewIds.get(0)).orElseThrow().getUseful())
+            .isEqualTo(2);
+        assertThat(backfillRunner.fillNextChunk()).isFalse();
+    }
+
+    @Test
+    void testKeepsRatingsWrittenDuringBackfill() {
+        backfillRunner.fillNextChunk();
+        reviewStorage.save(new ReviewLike(2, reviewIds.get(3), true));
+        reviewStorage.delete(new ReviewLike(2, reviewIds.get(0), true));
+
+        while (backfillRunner.fillNextChunk()) {
+            continue;
+        }
+
+        assertThat(storedUseful()).containsExactly(1, -1, 0, 1);
+    }
+
+    private List<Long> idsOfFilm(long filmId) {
+        List<Long> ids = new ArrayList<>();
+        reviewStorage.getReviewsByFilmId(filmId, 10).forEach(review -> ids.add(review.getId()));
+        return ids;
+    }
+
+    private List<Integer> storedUseful() {
+        return jdbcTemplate.queryForList("SELECT useful FROM reviews ORDER BY review_id",
+            Integer.class);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.storage.FilmReadModel;
+import ru.yandex.practicum.filmorate.storage.index.FilmPopularityIndex;
+
+@SpringBootTest(properties = "filmorate.import.chunk-size=2")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FilmImportServiceTest {
+
+    private final FilmImportService filmImportService;
+    private final FilmReadModel filmReadModel;
+    private final FilmPopularityIndex popularityIndex;
+
+    @Test
+    void testImportNdJsonReportsRejectedRows() throws IOException {
+        String input = film("Alien", "[{\"id\":4}]") + "\n"
+            + film("", "[]") + "\n"
+            + film("Heat", "[{\"id\":100}]") + "\n"
+            + "{\"name\":\"Up\",\"releaseDate\":\"not a date\"}\n"
+            + film("x".repeat(300), "[]") + "\n"
+            + film("Jaws", "[{\"id\":4},{\"id\":1}]") + "\n";
+
+        BulkImportResult result = filmImportService.importFilms(stream(input));
+
+        assertThat(result.getReceived()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors())
+            .extracting(BulkImportResult.RowError::getRow)
+            .containsExactly(2L, 3L, 4L, 5L);
+
+        List<Film> imported = new ArrayList<>(filmReadModel.getAll(OptionalLong.of(3), 10));
+        assertThat(imported)
+            .extracting(Film::getName)
+            .containsExactly("Alien", "Jaws");
+        assertThat(imported.get(1).getGenres())
+            .extracting(Genre::getId)
+            .containsOnly(1L, 4L);
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.of(4), OptionalInt.empty(), 10))
+            .containsExactlyInAnyOrder(imported.get(0).getId(), imported.get(1).getId());
+    }
+
+    @Test
+    void testImportJsonArray() throws IOException {
+        String input = "[" + film("Alien", "[]") + "," + film("Jaws", "[]") + ","
+            + film("Heat", "[]") + "]";
+
+        BulkImportResult result = filmImportService.importFilms(stream(input));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(filmReadModel.getAll()).hasSize(6);
+    }
+
+    @Test
+    void testStopsOnMalformedJson() throws IOException {
+        String input = film("Alien", "[]") + "\n{\"name\": \n";
+
+        BulkImportResult result = filmImportService.importFilms(stream(input));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors())
+            .extracting(BulkImportResult.RowError::getRow)
+            .containsExactly(2L);
+    }
+
+    private static String film(String name, String genres) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\","
+            + "\"releaseDate\":\"1990-01-01\",\"duration\":100,\"mpa\":{\"id\":1},"
+            + "\"genres\":" + genres + "}";
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
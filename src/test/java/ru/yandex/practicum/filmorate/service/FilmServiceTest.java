@@ -0,0 +1,63 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.exception.InvalidCursorException;
+import ru.yandex.practicum.filmorate.service.exception.InvalidSearchCriteriaException;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FilmServiceTest {
+
+    private final FilmService filmService;
+
+    @Test
+    void testSearchByTitle() {
+        assertThat(filmService.getFilmsBySearch("man", "title", null, 10))
+            .extracting(Film::getId)
+            .containsExactly(3L, 2L);
+    }
+
+    @Test
+    void testSearchByTitleAndDescription() {
+        assertThat(filmService.getFilmsBySearch("bird", "title", null, 10))
+            .isEmpty();
+        assertThat(filmService.getFilmsBySearch("bird", "title,description", null, 10))
+            .extracting(Film::getId)
+            .containsExactly(2L);
+    }
+
+    @Test
+    void testSearchPaging() {
+        assertThat(filmService.getFilmsBySearch("man", "title", null, 1))
+            .extracting(Film::getId)
+            .containsExactly(3L);
+        assertThat(filmService.getFilmsBySearch("man", "title", 3L, 1))
+            .extracting(Film::getId)
+            .containsExactly(2L);
+        assertThat(filmService.getFilmsBySearch("man", "title", 2L, 1))
+            .isEmpty();
+    }
+
+    @Test
+    void testSearchAfterFilmNotInResult() {
+        assertThatThrownBy(() -> filmService.getFilmsBySearch("man", "title", 1L, 10))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void testSearchByUnknownField() {
+        assertThatThrownBy(() -> filmService.getFilmsBySearch("man", "title,genre", null, 10))
+            .isInstanceOf(InvalidSearchCriteriaException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.events.EventWriter;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.LikePair;
+import ru.yandex.practicum.filmorate.service.exception.FilmNotFoundException;
+import ru.yandex.practicum.filmorate.storage.LikeStorage;
+import ru.yandex.practicum.filmorate.storage.index.FilmPopularityIndex;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LikeServiceTest {
+
+    private final LikeService likeService;
+    private final UserService userService;
+    private final LikeStorage likeStorage;
+    private final FilmPopularityIndex popularityIndex;
+    private final EventWriter eventWriter;
+
+    @Test
+    void testRepeatedLikeCountsOnce() {
+        likeService.doLike(3, 1);
+        likeService.doLike(3, 1);
+
+        assertThat(likeStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(feedOf(1))
+            .filteredOn(event -> event.getUserId() == 3)
+            .extracting(Event::getEntityId)
+            .containsExactly(1L);
+    }
+
+    @Test
+    void testDoLikes() {
+        likeService.doLikes(List.of(new LikePair(3, 1), new LikePair(3, 1),
+            new LikePair(1, 2), new LikePair(3, 3)));
+
+        assertThat(likeStorage.getLikeMetadataByUserAndFilm(3, 1)).isPresent();
+        assertThat(likeStorage.getLikeMetadataByUserAndFilm(3, 3)).isPresent();
+        assertThat(likeStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(feedOf(1))
+            .filteredOn(event -> event.getUserId() == 3)
+            .extracting(Event::getEntityId)
+            .containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void testConcurrentBatchesWithSamePairsCountOnce() throws Exception {
+        List<LikePair> pairs = List.of(new LikePair(3, 1), new LikePair(3, 2),
+            new LikePair(3, 3));
+
+        runConcurrently(() -> likeService.doLikes(pairs), () -> likeService.doLikes(pairs));
+
+        assertThat(likeStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(popularityIndex.getLikes(1)).isEqualTo(1);
+        assertThat(popularityIndex.getLikes(2)).isEqualTo(3);
+        assertThat(feedOf(1))
+            .filteredOn(event -> event.getUserId() == 3)
+            .extracting(Event::getEntityId)
+            .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void testDoLikesOfUnknownFilm() {
+        assertThatThrownBy(() ->
+            likeService.doLikes(List.of(new LikePair(3, 1), new LikePair(3, 99))))
+            .isInstanceOf(FilmNotFoundException.class);
+
+        assertThat(likeStorage.getLikeMetadataByUserAndFilm(3, 1)).isEmpty();
+    }
+
+    @Test
+    void testConcurrentUnlikeBatchesCountOnce() throws Exception {
+        List<LikePair> pairs = List.of(new LikePair(1, 2), new LikePair(2, 2));
+
+        runConcurrently(() -> likeService.doUnlikes(pairs), () -> likeService.doUnlikes(pairs));
+
+        assertThat(likeStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(popularityIndex.getLikes(2)).isZero();
+        assertThat(feedOf(3))
+            .filteredOn(event -> event.getUserId() == 1)
+            .extracting(Event::getOperation)
+            .containsOnlyOnce("REMOVE");
+    }
+
+    @Test
+    void testConcurrentUnlikesCountOnce() throws Exception {
+        runConcurrently(() -> likeService.doUnlike(1, 2), () -> likeService.doUnlike(1, 2));
+
+        assertThat(likeStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(popularityIndex.getLikes(2)).isEqualTo(1);
+        assertThat(feedOf(3))
+            .filteredOn(event -> event.getUserId() == 1)
+            .extracting(Event::getOperation)
+            .containsOnlyOnce("REMOVE");
+    }
+
+    @Test
+    void testDoUnlikes() {
+        likeService.doUnlikes(List.of(new LikePair(1, 2), new LikePair(2, 1)));
+
+        assertThat(likeStorage.getLikeMetadataByUserAndFilm(1, 2)).isEmpty();
+        assertThat(likeStorage.getLikeMetadataByUserAndFilm(2, 2)).isPresent();
+        assertThat(likeStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(feedOf(3))
+            .filteredOn(event -> event.getUserId() == 1)
+            .extracting(Event::getOperation)
+            .contains("REMOVE");
+    }
+
+    private Collection<Event> feedOf(long userId) {
+        eventWriter.flush();
+        return userService.getEventsOfUser(userId, null, 100);
+    }
+
+    private static void runConcurrently(Runnable... actions) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(actions.length);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable action : actions) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    action.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
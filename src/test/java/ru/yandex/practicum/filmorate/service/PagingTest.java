@@ -0,0 +1,25 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PagingTest {
+
+    @Test
+    void testUnpagedRequestIsUnlimited() {
+        assertThat(Paging.limit(null, null)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testPagedRequestUsesDefaultPageSize() {
+        assertThat(Paging.limit(5L, null)).isEqualTo(Paging.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void testRequestedPageSizeIsClamped() {
+        assertThat(Paging.limit(null, 10)).isEqualTo(10);
+        assertThat(Paging.limit(null, 0)).isEqualTo(1);
+        assertThat(Paging.limit(5L, 5000)).isEqualTo(Paging.MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,48 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.storage.index.LikeMatrix;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RecommendationEngineTest {
+
+    private final RecommendationEngine recommendationEngine;
+    private final LikeMatrix likeMatrix;
+
+    @Test
+    void testNoRecommendationsWithoutOtherLikes() {
+        assertThat(recommendationEngine.getRecommendationsForUser(1, 10)).isEmpty();
+        assertThat(recommendationEngine.getRecommendationsForUser(3, 10)).isEmpty();
+    }
+
+    @Test
+    void testRecommendationsOrderedByScore() {
+        likeMatrix.addLike(2, 1);
+        likeMatrix.addLike(3, 1);
+        likeMatrix.addLike(3, 2);
+        likeMatrix.addLike(3, 3);
+
+        assertThat(recommendationEngine.getRecommendationsForUser(1, 10))
+            .containsExactly(1L, 3L);
+        assertThat(recommendationEngine.getRecommendationsForUser(1, 1))
+            .containsExactly(1L);
+    }
+
+    @Test
+    void testRevokedLikeIsNotRecommended() {
+        likeMatrix.addLike(2, 1);
+        likeMatrix.removeLike(2, 1);
+
+        assertThat(recommendationEngine.getRecommendationsForUser(1, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.BulkImportResult;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.Friendship;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.EventReadModel;
+import ru.yandex.practicum.filmorate.storage.FriendshipStorage;
+import ru.yandex.practicum.filmorate.storage.UserStorage;
+
+@SpringBootTest(properties = "filmorate.import.chunk-size=2")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserImportServiceTest {
+
+    private final UserImportService userImportService;
+    private final UserStorage userStorage;
+    private final FriendshipStorage friendshipStorage;
+    private final EventReadModel eventReadModel;
+
+    @Test
+    void testImportUsers() throws IOException {
+        assertThat(userStorage.exists(4)).isFalse();
+
+        BulkImportResult result = userImportService.importUsers(stream(
+            "{\"email\":\"amy@mail.ru\",\"login\":\"amy\",\"birthday\":\"1990-01-01\"}\n"
+                + "{\"email\":\"not an email\",\"login\":\"bob\",\"birthday\":\"1990-01-01\"}\n"
+                + "{\"email\":\"dan@mail.ru\",\"login\":\"dan\",\"name\":\"Dan\","
+                + "\"birthday\":\"1991-01-01\"}\n"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors())
+            .extracting(BulkImportResult.RowError::getRow)
+            .containsExactly(2L);
+        assertThat(userStorage.getUser(4)).get()
+            .extracting(User::getName)
+            .isEqualTo("amy");
+        assertThat(userStorage.getUser(5)).get()
+            .extracting(User::getName)
+            .isEqualTo("Dan");
+    }
+
+    @Test
+    void testImportFriendships() throws IOException {
+        userImportService.importUsers(stream(
+            "{\"email\":\"amy@mail.ru\",\"login\":\"amy\",\"birthday\":\"1990-01-01\"}"));
+
+        BulkImportResult result = userImportService.importFriendships(stream(
+            "{\"inviterId\":4,\"acceptorId\":1,\"isConfirmed\":true}\n"
+                + "{\"inviterId\":4,\"acceptorId\":99,\"isConfirmed\":false}\n"
+                + "{\"inviterId\":4,\"acceptorId\":4,\"isConfirmed\":false}\n"
+                + "{\"inviterId\":1,\"acceptorId\":4,\"isConfirmed\":false}\n"));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors())
+            .extracting(BulkImportResult.RowError::getRow)
+            .containsExactly(2L, 3L, 4L);
+        assertThat(friendshipStorage.getFriendshipMetadataByUserIds(1, 4))
+            .contains(new Friendship(4, 1, true));
+        assertThat(eventReadModel.getEventsListForUser(4, OptionalLong.empty(), 10))
+            .extracting(Event::getEventId)
+            .containsExactly(1L);
+        assertThat(eventReadModel.getEventsListForUser(1, OptionalLong.empty(), 10))
+            .extracting(Event::getEventId)
+            .containsExactly(2L);
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.yandex.practicum.filmorate.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Event;
+import ru.yandex.practicum.filmorate.model.User;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class UserServiceTest {
+
+    private final UserService userService;
+
+    @Test
+    void testConfirmedFriendshipShowsInviterEventsToConfirmer() {
+        User confirmer = userService.createUser(new User(null, "new@mail.ru", "new",
+            "New", LocalDate.of(1990, 1, 1)));
+        long confirmerId = confirmer.getId();
+
+        userService.makeFriends(1, confirmerId);
+
+        assertThat(userService.getEventsOfUser(confirmerId, null, 100))
+            .extracting(Event::getUserId)
+            .doesNotContain(1L);
+
+        userService.makeFriends(confirmerId, 1);
+
+        assertThat(userService.getEventsOfUser(confirmerId, null, 100))
+            .filteredOn(event -> event.getUserId() == 1)
+            .extracting(Event::getEventId)
+            .contains(1L);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, key -> load(key, loads));
+        cache.get(2, key -> load(key, loads));
+        cache.get(1, key -> load(key, loads));
+        cache.get(3, key -> load(key, loads));
+        cache.get(1, key -> load(key, loads));
+        cache.get(2, key -> load(key, loads));
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(4);
+        assertThat(cache.getEvictionCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testDoesNotCacheEmptyResults() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+
+        assertThat(cache.get(1, key -> Optional.empty())).isEmpty();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testDropsValueLoadedDuringInvalidation() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+
+        Optional<String> loaded = cache.get(1, key -> {
+            cache.invalidate(key);
+            return Optional.of("stale");
+        });
+
+        assertThat(loaded).contains("stale");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testExpiresEntriesAndCachesEmptyResults() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<Integer, String> cache =
+            new BoundedCache<>(2, Duration.ofNanos(10), true, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, key -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        now.set(9);
+        assertThat(cache.get(1, key -> load(key, loads))).isEmpty();
+        now.set(10);
+        assertThat(cache.get(1, key -> load(key, loads))).contains("value1");
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    private static Optional<String> load(Integer key, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Optional.of("value" + key);
+    }
+}
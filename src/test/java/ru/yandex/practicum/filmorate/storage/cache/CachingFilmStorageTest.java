@@ -0,0 +1,76 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachingFilmStorageTest {
+
+    private final CachingFilmStorage filmStorage;
+    private final MeterRegistry registry;
+
+    @Test
+    void testRepeatedReadsHitCache() {
+        filmStorage.getFilm(1);
+        filmStorage.getFilm(1);
+        filmStorage.getFilm(1);
+
+        assertThat(filmStorage.getCache().getMissCount()).isEqualTo(1);
+        assertThat(filmStorage.getCache().getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testReportsStatisticsToRegistry() {
+        filmStorage.getFilm(1);
+        filmStorage.getFilm(1);
+        filmStorage.exists(2);
+
+        assertThat(registry.get(CacheMetrics.GETS)
+            .tags("cache", "films", "result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(CacheMetrics.GETS)
+            .tags("cache", "films", "result", "miss")
+            .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get(CacheMetrics.SIZE)
+            .tags("cache", "films")
+            .gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testReturnsCopies() {
+        Film film = filmStorage.getFilm(1).orElseThrow();
+        film.setName("Changed");
+        film.getGenres().clear();
+
+        Film cached = filmStorage.getFilm(1).orElseThrow();
+
+        assertThat(cached.getName()).isEqualTo("Matrix");
+        assertThat(cached.getGenres()).hasSize(1);
+    }
+
+    @Test
+    void testSaveAndDeleteInvalidate() {
+        Film film = filmStorage.getFilm(1).orElseThrow();
+        film.setName("Matrix Reloaded");
+
+        filmStorage.save(film);
+
+        assertThat(filmStorage.getFilm(1)).get()
+            .extracting(Film::getName).isEqualTo("Matrix Reloaded");
+
+        filmStorage.delete(1);
+
+        assertThat(filmStorage.getFilm(1)).isEmpty();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.storage.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.User;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachingUserStorageTest {
+
+    private final CachingUserStorage userStorage;
+
+    @Test
+    void testCachesMissingUsers() {
+        assertThat(userStorage.getUser(100)).isEmpty();
+        assertThat(userStorage.getUser(100)).isEmpty();
+
+        assertThat(userStorage.getCache().getMissCount()).isEqualTo(1);
+        assertThat(userStorage.getCache().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testExistenceChecksUseCachedEntries() {
+        userStorage.getUser(1);
+        userStorage.getUser(100);
+
+        assertThat(userStorage.exists(1)).isTrue();
+        assertThat(userStorage.exists(100)).isFalse();
+        assertThat(userStorage.existingIds(List.of(1L, 2L, 100L))).containsOnly(1L, 2L);
+        assertThat(userStorage.getCache().getHitCount()).isEqualTo(4);
+        assertThat(userStorage.getCache().getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testSaveAndDeleteInvalidate() {
+        assertThat(userStorage.getUser(4)).isEmpty();
+
+        User user = new User(null, "bob@example.com", "bob", "Bob", LocalDate.of(1990, 1, 1));
+        userStorage.save(user);
+
+        assertThat(user.getId()).isEqualTo(4);
+        assertThat(userStorage.getUser(4)).isPresent();
+
+        userStorage.delete(4);
+
+        assertThat(userStorage.getUser(4)).isEmpty();
+    }
+
+    @Test
+    void testReturnsCopies() {
+        User user = userStorage.getUser(1).orElseThrow();
+        String name = user.getName();
+        user.setName("Changed");
+
+        assertThat(userStorage.getUser(1)).get().extracting(User::getName).isEqualTo(name);
+
+        userStorage.save(user);
+
+        assertThat(userStorage.getUser(1)).get().extracting(User::getName).isEqualTo("Changed");
+    }
+}
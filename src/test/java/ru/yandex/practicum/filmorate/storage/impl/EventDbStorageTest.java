@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,4 +61,67 @@ class EventDbStorageTest {
 
         assertThat(events).hasSize(1);
     }
+
+    @Test
+    void testSaveEventDeliversToFeedsOfFollowers() {
+        Event event = new Event(null, 3, 1,
+            ZonedDateTime.of(LocalDateTime.now(), ZoneId.of("UTC")),
+            "LIKE", "ADD");
+
+        eventStorage.save(event);
+
+        assertThat(eventStorage.getEventsListForUser(1))
+            .extracting(Event::getEventId).contains(event.getEventId());
+        assertThat(eventStorage.getEventsListForUser(2))
+            .extracting(Event::getEventId).containsExactly(event.getEventId());
+        assertThat(eventStorage.getEventsListForUser(3))
+            .extracting(Event::getEventId).doesNotContain(event.getEventId());
+    }
+
+    @Test
+    void testSaveAll() {
+        ZonedDateTime now = ZonedDateTime.of(LocalDateTime.now(), ZoneId.of("UTC"));
+        Event first = new Event(null, 2, 1, now, "LIKE", "ADD");
+        Event second = new Event(null, 3, 1, now, "LIKE", "ADD");
+
+        eventStorage.saveAll(List.of(first, second));
+
+        assertThat(first.getEventId()).isNotNull();
+        assertThat(second.getEventId()).isNotNull();
+        assertThat(eventStorage.getEventsListForUser(1))
+            .extracting(Event::getEventId)
+            .containsExactly(second.getEventId(), first.getEventId(), 2L);
+    }
+
+    @Test
+    void testRemoveAndAddToFeed() {
+        eventStorage.removeFromFeed(1, 2);
+
+        assertThat(eventStorage.getEventsListForUser(1)).isEmpty();
+
+        eventStorage.addToFeed(1, 2);
+        eventStorage.addToFeed(1, 2);
+
+        assertThat(eventStorage.getEventsListForUser(1))
+            .extracting(Event::getEventId).containsExactly(2L);
+    }
+
+    @Test
+    public void testGetEventsOfUserPage() {
+        ZonedDateTime now = ZonedDateTime.of(LocalDateTime.now(), ZoneId.of("UTC"));
+        Event first = new Event(null, 2, 1, now, "LIKE", "ADD");
+        Event second = new Event(null, 2, 3, now, "LIKE", "ADD");
+        eventStorage.save(first);
+        eventStorage.save(second);
+
+        Collection<Event> firstPage =
+            eventStorage.getEventsListForUser(1, OptionalLong.empty(), 1);
+        Collection<Event> secondPage =
+            eventStorage.getEventsListForUser(1, OptionalLong.of(second.getEventId()), 10);
+
+        assertThat(firstPage).extracting(Event::getEventId)
+            .containsExactly(second.getEventId());
+        assertThat(secondPage).extracting(Event::getEventId)
+            .containsExactly(first.getEventId(), 2L);
+    }
 }
\ No newline at end of file
@@ -4,11 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +21,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
 import ru.yandex.practicum.filmorate.model.Like;
 import ru.yandex.practicum.filmorate.model.MpaRating;
 
@@ -45,6 +51,47 @@ class FilmDbStorageTest {
         assertThat(films).hasSize(3);
     }
 
+    @Test
+    void testStreamAllLoadsGenres() {
+        List<Film> films = new ArrayList<>();
+
+        filmStorage.streamAll(films::add);
+
+        assertThat(films).extracting(Film::getId).containsExactly(1L, 2L, 3L);
+        assertThat(films.get(0).getGenres()).extracting(Genre::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testExists() {
+        assertThat(filmStorage.exists(1)).isTrue();
+        assertThat(filmStorage.exists(100)).isFalse();
+        assertThat(filmStorage.existingIds(List.of(1L, 3L, 100L))).containsOnly(1L, 3L);
+        assertThat(filmStorage.existingIds(List.of())).isEmpty();
+    }
+
+    @Test
+    void testGetAllPage() {
+        Collection<Film> firstPage = filmStorage.getAll(OptionalLong.empty(), 2);
+        Collection<Film> secondPage = filmStorage.getAll(OptionalLong.of(2), 2);
+
+        assertThat(firstPage).extracting(Film::getId).containsExactly(1L, 2L);
+        assertThat(secondPage).extracting(Film::getId).containsExactly(3L);
+    }
+
+    @Test
+    void testGetAllLoadsGenresOfEachFilm() {
+        Map<Long, Film> films = filmStorage.getAll().stream()
+            .collect(Collectors.toMap(Film::getId, Function.identity()));
+
+        assertThat(films.get(1L).getGenres())
+            .extracting(Genre::getId)
+            .containsExactly(2L);
+        assertThat(films.get(2L).getGenres())
+            .extracting(Genre::getId)
+            .containsExactly(1L);
+        assertThat(films.get(3L).getGenres()).isNull();
+    }
+
     @Test
     void testGetMostPopularFilms() {
         Collection<Film> films = filmStorage.getMostPopularFilms(1);
@@ -85,6 +132,20 @@ class FilmDbStorageTest {
             .isSubsetOf(1L);
     }
 
+    @Test
+    void testYearFilterFollowsReleaseDate() {
+        Film film = filmStorage.getFilm(1).orElseThrow();
+        film.setReleaseDate(LocalDate.of(2003, 5, 15));
+        filmStorage.save(film);
+
+        assertThat(filmStorage.getMostPopularFilms(OptionalLong.empty(),
+            OptionalInt.of(1999), 10)).isEmpty();
+        assertThat(filmStorage.getMostPopularFilms(OptionalLong.empty(),
+            OptionalInt.of(2003), 10))
+            .flatMap(Film::getId)
+            .containsExactly(1L);
+    }
+
     @Test
     void testSaveFilm() {
         Film film = new Film(null, "Name", "Description",
@@ -104,6 +165,26 @@ class FilmDbStorageTest {
                 );
     }
 
+    @Test
+    void testUpdateFilmGenres() {
+        Film film = filmStorage.getFilm(1).orElseThrow();
+        film.setGenres(new HashSet<>(List.of(new Genre(1, null), new Genre(3, null))));
+
+        filmStorage.save(film);
+
+        assertThat(filmStorage.getFilm(1)).get()
+            .extracting(Film::getGenres)
+            .satisfies(genres -> assertThat(genres).extracting(Genre::getId)
+                .containsOnly(1L, 3L));
+
+        film.setGenres(null);
+        filmStorage.save(film);
+
+        assertThat(filmStorage.getFilm(1)).get()
+            .extracting(Film::getGenres)
+            .isNull();
+    }
+
     @Test
     void testSaveLike() {
         assertThat(filmStorage.getLikeMetadataByUserAndFilm(3, 2)).isEmpty();
@@ -120,12 +201,56 @@ class FilmDbStorageTest {
                 );
     }
 
+    @Test
+    void testSaveLikeIfAbsent() {
+        assertThat(filmStorage.saveIfAbsent(new Like(3, 2, ZonedDateTime.now()))).isTrue();
+        assertThat(filmStorage.saveIfAbsent(new Like(3, 2, ZonedDateTime.now()))).isFalse();
+
+        assertThat(filmStorage.getLikeMetadataByUserAndFilm(3, 2)).isPresent();
+    }
+
+    @Test
+    void testSaveLikesSkipsStoredOnes() {
+        ZonedDateTime now = ZonedDateTime.now();
+
+        int[] saved = filmStorage.saveLikes(List.of(new Like(3, 1, now), new Like(1, 2, now),
+            new Like(3, 2, now)));
+
+        assertThat(saved).containsExactly(1, 0, 1);
+        assertThat(filmStorage.getLikeMetadataByUserAndFilm(3, 1)).isPresent();
+        assertThat(filmStorage.getLikeMetadataByUserAndFilm(3, 2)).isPresent();
+    }
+
     @Test
     void testDeleteLike() {
         Like like = filmStorage.getLikeMetadataByUserAndFilm(2, 2).orElseThrow();
 
-        filmStorage.delete(like);
+        assertThat(filmStorage.delete(like)).isTrue();
+        assertThat(filmStorage.delete(like)).isFalse();
 
         assertThat(filmStorage.getLikeMetadataByUserAndFilm(2, 2)).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateLikeCount() {
+        filmStorage.updateLikeCount(3, 5);
+
+        assertThat(filmStorage.getMostPopularFilms(1))
+            .flatMap(Film::getId)
+            .containsExactly(3L);
+        assertThat(filmStorage.getFilmsWithStaleLikeCount()).containsExactly(3L);
+    }
+
+    @Test
+    void testRecountLikes() {
+        filmStorage.updateLikeCount(2, -2);
+        assertThat(filmStorage.getFilmsWithStaleLikeCount()).containsExactly(2L);
+
+        filmStorage.recountLikes(2);
+
+        assertThat(filmStorage.getFilmsWithStaleLikeCount()).isEmpty();
+        assertThat(filmStorage.getMostPopularFilms(1))
+            .flatMap(Film::getId)
+            .containsExactly(2L);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.yandex.practicum.filmorate.storage.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Genre;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class GenreDbStorageTest {
+
+    private final GenreDbStorage genreStorage;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testGetGenre() {
+        String name = jdbcTemplate.queryForObject(
+            "SELECT name FROM genres WHERE genre_id = 2", String.class);
+
+        assertThat(genreStorage.getGenre(2))
+            .get()
+            .extracting(Genre::getName)
+            .isEqualTo(name);
+        assertThat(genreStorage.getGenre(0)).isEmpty();
+        assertThat(genreStorage.getGenre(100)).isEmpty();
+    }
+
+    @Test
+    void testGetAll() {
+        assertThat(genreStorage.getAll())
+            .extracting(Genre::getId)
+            .containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void testRefresh() {
+        jdbcTemplate.update("INSERT INTO genres (name) VALUES ('Western')");
+
+        assertThat(genreStorage.getGenre(7)).isEmpty();
+
+        genreStorage.refresh();
+
+        assertThat(genreStorage.getGenre(7))
+            .get()
+            .extracting(Genre::getName)
+            .isEqualTo("Western");
+    }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +41,27 @@ class UserDbStorageTest {
         assertThat(users).hasSize(3);
     }
 
+    @Test
+    void testExists() {
+        assertThat(userStorage.exists(2)).isTrue();
+        assertThat(userStorage.exists(100)).isFalse();
+        assertThat(userStorage.existingIds(List.of(2L, 100L))).containsOnly(2L);
+    }
+
+    @Test
+    void testGetAllPage() {
+        Collection<User> page = userStorage.getAll(OptionalLong.of(1), 1);
+
+        assertThat(page).extracting(User::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testGetFriendsOfUserPage() {
+        Collection<User> page = userStorage.getFriendsOfUser(1, OptionalLong.of(2), 10);
+
+        assertThat(page).extracting(User::getId).containsExactly(3L);
+    }
+
     @Test
     void testGetFriendsOfUser() {
         Collection<User> friends = userStorage.getFriendsOfUser(1);
@@ -0,0 +1,74 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.Genre;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FilmPopularityIndexTest {
+
+    private final FilmPopularityIndex popularityIndex;
+
+    @Test
+    void testLoadedRanking() {
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.empty(),
+            OptionalInt.empty(), 10))
+            .containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void testRankingWithFilters() {
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.of(2L),
+            OptionalInt.empty(), 10))
+            .containsExactly(1L);
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.empty(),
+            OptionalInt.of(1988), 10))
+            .containsExactly(3L);
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.of(2L),
+            OptionalInt.of(1988), 10))
+            .isEmpty();
+    }
+
+    @Test
+    void testRankingFollowsLikes() {
+        popularityIndex.addLikes(3, 3);
+
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.empty(),
+            OptionalInt.empty(), 2))
+            .containsExactly(3L, 2L);
+    }
+
+    @Test
+    void testPutAndRemoveFilm() {
+        Film film = new Film(4L, "Name", "Description", LocalDate.of(1988, 1, 1), 100,
+            MpaRating.G, Set.of(new Genre(2, null)));
+
+        popularityIndex.put(film);
+        popularityIndex.addLikes(4, 1);
+
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.of(2L),
+            OptionalInt.of(1988), 10))
+            .containsExactly(4L);
+
+        popularityIndex.remove(4);
+
+        assertThat(popularityIndex.getMostPopularFilmIds(OptionalLong.of(2L),
+            OptionalInt.empty(), 10))
+            .containsExactly(1L);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.MpaRating;
+import ru.yandex.practicum.filmorate.storage.index.FilmSearchIndex.Field;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FilmSearchIndexTest {
+
+    private final FilmSearchIndex searchIndex;
+
+    @Test
+    void testSearchByTitleSubstring() {
+        assertThat(search("MAN", EnumSet.of(Field.TITLE), 10))
+            .containsExactly(3L, 2L);
+        assertThat(search("atm", EnumSet.of(Field.TITLE), 10))
+            .containsExactly(2L);
+        assertThat(search("ma", EnumSet.of(Field.TITLE), 1))
+            .containsExactly(1L);
+        assertThat(search("unknown", EnumSet.of(Field.TITLE), 10))
+            .isEmpty();
+    }
+
+    @Test
+    void testSearchByTitleAndDescription() {
+        assertThat(search("best", EnumSet.of(Field.TITLE), 10))
+            .isEmpty();
+        assertThat(search("best", EnumSet.of(Field.TITLE, Field.DESCRIPTION), 10))
+            .containsExactly(1L);
+    }
+
+    @Test
+    void testIndexFollowsFilmChanges() {
+        Film film = new Film(3L, "Rain", "Must see", LocalDate.of(1988, 12, 16), 134,
+            MpaRating.R, null);
+
+        searchIndex.put(film);
+
+        assertThat(search("man", EnumSet.of(Field.TITLE), 10))
+            .containsExactly(2L);
+
+        searchIndex.remove(2);
+
+        assertThat(search("man", EnumSet.of(Field.TITLE), 10))
+            .isEmpty();
+    }
+
+    private List<Long> search(String query, EnumSet<Field> fields, int limit) {
+        return searchIndex.search(query, fields, limit).stream()
+            .map(FilmSearchIndex.Hit::getFilmId)
+            .collect(Collectors.toList());
+    }
+}
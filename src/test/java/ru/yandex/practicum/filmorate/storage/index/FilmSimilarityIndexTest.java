@@ -0,0 +1,63 @@
+package ru.yandex.practicum.filmorate.storage.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FilmSimilarityIndexTest {
+
+    private final FilmSimilarityIndex similarityIndex;
+    private final LikeMatrix likeMatrix;
+
+    @Test
+    void testNoSimilarFilmsWithoutCommonLikes() {
+        assertThat(similarityIndex.getSimilarFilmIds(2, 10)).isEmpty();
+    }
+
+    @Test
+    void testSimilarFilmsFollowLikes() {
+        assertThat(similarityIndex.getSimilarFilmIds(2, 10)).isEmpty();
+
+        like(1, 1);
+        like(2, 1);
+        like(2, 3);
+
+        assertThat(similarityIndex.getSimilarFilmIds(2, 10)).containsExactly(1L, 3L);
+        assertThat(similarityIndex.getSimilarFilmIds(2, 1)).containsExactly(1L);
+
+        likeMatrix.removeLike(2, 3);
+        similarityIndex.onLikeChanged(2, 3);
+        similarityIndex.refreshStale();
+
+        assertThat(similarityIndex.getSimilarFilmIds(2, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void testLikesOfCoLikedFilmRefreshScores() {
+        like(1, 1);
+        like(1, 3);
+        like(2, 3);
+
+        assertThat(similarityIndex.getSimilarFilmIds(2, 10)).containsExactly(3L, 1L);
+
+        like(4, 3);
+        like(5, 3);
+        similarityIndex.refreshStale();
+
+        assertThat(similarityIndex.getSimilarFilmIds(2, 10)).containsExactly(1L, 3L);
+    }
+
+    private void like(long userId, long filmId) {
+        likeMatrix.addLike(userId, filmId);
+        similarityIndex.onLikeChanged(userId, filmId);
+    }
+}
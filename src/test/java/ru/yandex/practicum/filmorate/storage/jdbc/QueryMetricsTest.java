@@ -0,0 +1,56 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.ZonedDateTime;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.storage.impl.FilmDbStorage;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryMetricsTest {
+
+    private final FilmDbStorage filmStorage;
+    private final MeterRegistry registry;
+
+    @Test
+    void testRecordsQueriesByConstantName() {
+        filmStorage.getFilm(1);
+        filmStorage.getFilm(2);
+
+        Timer timer = registry.get(QueryMetrics.TIMER)
+            .tags("repository", "FilmDbStorage", "query", "SELECT_FILM")
+            .timer();
+        DistributionSummary rows = registry.get(QueryMetrics.ROWS)
+            .tags("repository", "FilmDbStorage", "query", "SELECT_FILM")
+            .summary();
+
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(rows.count()).isEqualTo(2);
+        assertThat(rows.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void testRecordsTemplatesAndUpdates() {
+        filmStorage.getMostPopularFilms(10);
+        filmStorage.delete(new Like(1, 2, ZonedDateTime.now()));
+
+        assertThat(registry.get(QueryMetrics.ROWS)
+            .tags("repository", "FilmDbStorage", "query", "SELECT_POPULAR_FILMS")
+            .summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get(QueryMetrics.ROWS)
+            .tags("repository", "FilmDbStorage", "query", "DELETE_LIKE")
+            .summary().totalAmount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryNames.QueryName;
+
+class QueryNamesTest {
+
+    private final QueryNames names = new QueryNames(Statements.class);
+
+    @Test
+    void testResolvesPlainStatements() {
+        assertThat(names.resolve("select film_id\n  FROM films WHERE film_id = ?"))
+            .isEqualTo(new QueryName("Statements", "SELECT_FILM"));
+    }
+
+    @Test
+    void testResolvesTemplates() {
+        assertThat(names.resolve(String.format(Statements.SELECT_FILMS_BY_IDS, "?, ?, ?")))
+            .isEqualTo(new QueryName("Statements", "SELECT_FILMS_BY_IDS"));
+        assertThat(names.resolve(String.format(Statements.SELECT_POPULAR_FILMS, "")))
+            .isEqualTo(new QueryName("Statements", "SELECT_POPULAR_FILMS"));
+        assertThat(names.resolve(
+            String.format(Statements.SELECT_POPULAR_FILMS, Statements.YEAR_CONDITION)))
+            .isEqualTo(new QueryName("Statements", "SELECT_POPULAR_FILMS"));
+    }
+
+    @Test
+    void testIgnoresFragmentsAndUnknownStatements() {
+        assertThat(names.resolve(Statements.YEAR_CONDITION)).isEqualTo(QueryNames.UNKNOWN);
+        assertThat(names.resolve("SELECT 1")).isEqualTo(QueryNames.UNKNOWN);
+        assertThat(names.resolve(null)).isEqualTo(QueryNames.UNKNOWN);
+    }
+
+    private static class Statements {
+        private static final String SELECT_FILM = "SELECT film_id FROM films WHERE film_id = ?";
+        private static final String SELECT_FILMS_BY_IDS =
+            "SELECT film_id FROM films WHERE film_id IN (%s)";
+        private static final String SELECT_POPULAR_FILMS =
+            "SELECT film_id FROM films %s ORDER BY like_count DESC";
+        private static final String YEAR_CONDITION = "WHERE YEAR(release_date) = ?";
+    }
+}
@@ -0,0 +1,81 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.yandex.practicum.filmorate.model.Like;
+import ru.yandex.practicum.filmorate.storage.impl.FilmDbStorage;
+import ru.yandex.practicum.filmorate.storage.jdbc.QueryNames.QueryName;
+
+@SpringBootTest(properties = {
+    "filmorate.slow-queries.threshold-ms=0",
+    "filmorate.slow-queries.capacity=5",
+    "filmorate.slow-queries.explain-interval-ms=0"
+})
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SlowQueryLogTest {
+
+    private final FilmDbStorage filmStorage;
+    private final SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void clear() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void testKeepsMaskedParametersAndPlan() throws InterruptedException {
+        filmStorage.delete(new Like(1, 2, ZonedDateTime.now()));
+        filmStorage.getCommonFilms(1L, 2L);
+
+        SlowQuery common = find("SELECT_COMMON_FILMS");
+        assertThat(common.getRepository()).isEqualTo("FilmDbStorage");
+        assertThat(common.getParameters()).containsExactly("******", "******");
+        SlowQuery delete = find("DELETE_LIKE");
+        assertThat(delete.getRows()).isEqualTo(1);
+
+        for (int i = 0; i < 100 && common.getPlan() == null; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(common.getPlan()).containsIgnoringCase("scanCount");
+        assertThat(delete.getPlan()).isNull();
+    }
+
+    @Test
+    void testKeepsNewestQueries() {
+        for (int i = 0; i < 10; i++) {
+            filmStorage.getFilm(1);
+        }
+
+        assertThat(slowQueryLog.getQueries()).hasSize(5);
+    }
+
+    @Test
+    void testShowsParametersWhenEnabled() {
+        SlowQueryLog log = new SlowQueryLog(null, 0, 5, 0, true);
+
+        log.onQuery(new QueryExecution(new QueryName("FilmDbStorage", "DELETE_LIKE"),
+            FilmDbStorage.DELETE_LIKE, List.of(1L, 2L), 1, 1, false));
+
+        assertThat(log.getQueries()).singleElement()
+            .extracting(SlowQuery::getParameters)
+            .isEqualTo(List.of("1", "2"));
+    }
+
+    private SlowQuery find(String query) {
+        return slowQueryLog.getQueries().stream()
+            .filter(slowQuery -> slowQuery.getQuery().equals(query))
+            .findFirst()
+            .orElseThrow();
+    }
+}
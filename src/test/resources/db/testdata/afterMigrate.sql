@@ -29,4 +29,13 @@ VALUES
 INSERT INTO events (user_id, entity_id, event_type, operation, occurred_on)
 VALUES
     (1, 2, 'LIKE', 'ADD', '2021-03-08T01:00:01.000000800'),
-    (2, 2, 'FRIEND', 'ADD', '2022-05-11T01:00:01.000000800');
\ No newline at end of file
+    (2, 2, 'FRIEND', 'ADD', '2022-05-11T01:00:01.000000800');
+
+UPDATE films AS f SET like_count = (SELECT COUNT(*) FROM likes AS l WHERE l.film_id = f.film_id);
+
+INSERT INTO feed (owner_id, event_id, occurred_on)
+SELECT fr.inviter_id, e.event_id, e.occurred_on
+FROM events AS e JOIN friendship AS fr ON fr.acceptor_id = e.user_id
+UNION
+SELECT fr.acceptor_id, e.event_id, e.occurred_on
+FROM events AS e JOIN friendship AS fr ON fr.inviter_id = e.user_id AND fr.is_confirmed IS TRUE;